@@ -194,9 +194,9 @@ subprojects {
         }
     }
 
-    // tasks.test {
-    //     useJUnitPlatform()
-    // }
+    tasks.test {
+        useJUnitPlatform()
+    }
 
     publishing {
         repositories {
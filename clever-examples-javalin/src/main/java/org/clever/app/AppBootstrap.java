@@ -1,8 +1,38 @@
 package org.clever.app;
 
+import com.zaxxer.hikari.HikariDataSource;
 import io.javalin.Javalin;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.clever.app.cache.QueryCache;
+import org.clever.app.config.AdaptivePoolConfig;
+import org.clever.app.config.AsyncEchoConfig;
+import org.clever.app.config.FilterPipelineConfig;
+import org.clever.app.config.JdbcFanOutConfig;
+import org.clever.app.config.P6SpyLogConfig;
+import org.clever.app.config.QueryCacheConfig;
+import org.clever.app.config.ReadReplicaConfig;
+import org.clever.app.config.SpillConfig;
+import org.clever.app.config.SqlMetricsConfig;
+import org.clever.app.config.SqlParseCacheConfig;
+import org.clever.app.filter.AsyncEchoFilter;
+import org.clever.app.filter.CompiledFilterPipeline;
+import org.clever.app.filter.ConnectionHoldFilter;
+import org.clever.app.filter.FilterPathRules;
+import org.clever.app.filter.MetricsFilter;
+import org.clever.app.filter.ResponseCacheFilter;
+import org.clever.app.filter.StaticAssetFilter;
+import org.clever.app.jdbc.AdaptivePoolController;
+import org.clever.app.jdbc.AsyncSqlLogger;
+import org.clever.app.jdbc.HikariPools;
+import org.clever.app.jdbc.JdbcFanOut;
+import org.clever.app.jdbc.ReadReplicas;
+import org.clever.app.jdbc.SpillableRows;
+import org.clever.app.jdbc.SqlParseCache;
+import org.clever.app.metrics.HikariPoolMetrics;
+import org.clever.app.metrics.SqlStats;
+import org.clever.app.thread.VirtualThreadPinnedMonitor;
+import org.clever.app.web.StaticAssets;
 import org.clever.core.AppBasicsConfig;
 import org.clever.core.AppContextHolder;
 import org.clever.core.AppShutdownHook;
@@ -17,6 +47,7 @@ import org.clever.spring.boot.LoggingBootstrap;
 import org.clever.spring.boot.StartupInfoLogger;
 import org.clever.task.TaskBootstrap;
 import org.clever.task.ext.JsExecutorBootstrap;
+import org.clever.web.FilterRegistrar;
 import org.clever.web.MvcBootstrap;
 import org.clever.web.PathConstants;
 import org.clever.web.WebServerBootstrap;
@@ -27,6 +58,7 @@ import org.clever.web.plugin.NotFoundResponsePlugin;
 import org.springframework.core.env.StandardEnvironment;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
  * 作者：lizw <br/>
@@ -65,12 +97,35 @@ public abstract class AppBootstrap {
         final JdbcBootstrap jdbcBootstrap = JdbcBootstrap.create(rootPath, environment);
         final JdbcConfig jdbcConfig = jdbcBootstrap.getJdbcConfig();
         jdbcBootstrap.init();
+        SqlParseCache.init(SqlParseCacheConfig.create(environment));
+        SqlStats.init(SqlMetricsConfig.create(environment));
+        ReadReplicas.init(ReadReplicaConfig.create(environment));
+        JdbcFanOut.init(JdbcFanOutConfig.create(environment));
+        AppShutdownHook.addShutdownHook(JdbcFanOut::shutdown, OrderIncrement.NORMAL, "停止并行查询执行器");
+        SpillableRows.init(rootPath, SpillConfig.create(environment));
+        final Map<String, HikariDataSource> hikariPools = HikariPools.getAll(environment);
+        hikariPools.forEach(HikariPoolMetrics::register);
+        final AdaptivePoolConfig adaptivePoolConfig = AdaptivePoolConfig.create(environment);
+        if (adaptivePoolConfig.isEnable()) {
+            AdaptivePoolController adaptivePoolController = AdaptivePoolController.start(adaptivePoolConfig, hikariPools);
+            AppShutdownHook.addShutdownHook(adaptivePoolController::close, OrderIncrement.NORMAL, "停止连接池大小自适应");
+        }
+        AsyncSqlLogger.init(P6SpyLogConfig.create(environment));
+        AppShutdownHook.addShutdownHook(AsyncSqlLogger::shutdown, OrderIncrement.NORMAL, "停止异步SQL日志");
         // Redis初始化
         final RedisBootstrap redisBootstrap = RedisBootstrap.create(environment);
         redisBootstrap.init();
+        QueryCache.init(QueryCacheConfig.create(environment));
         // 创建web服务
         final WebServerBootstrap webServerBootstrap = WebServerBootstrap.create(rootPath, environment);
         final WebConfig webConfig = webServerBootstrap.getWebConfig();
+        // 虚拟线程(web.use-virtual-threads)
+        if (webConfig.isUseVirtualThreads()) {
+            VirtualThreadPinnedMonitor pinnedMonitor = VirtualThreadPinnedMonitor.startIfSupported(VirtualThreadPinnedMonitor.DEFAULT_THRESHOLD);
+            if (pinnedMonitor != null) {
+                AppShutdownHook.addShutdownHook(pinnedMonitor::close, OrderIncrement.NORMAL, "停止虚拟线程pinned检测");
+            }
+        }
         // mvc功能
         final MvcBootstrap mvcBootstrap = MvcBootstrap.create(rootPath, jdbcConfig.getDefaultName(), environment);
         // security功能
@@ -78,19 +133,60 @@ public abstract class AppBootstrap {
         SecurityBootstrap.useDefaultSecurity(securityBootstrap.getSecurityConfig());
         // 注册 Filter
         final OrderIncrement filterOrder = new OrderIncrement();
-        webServerBootstrap.getFilterRegistrar()
-            .addFilter(ApplyConfigFilter.create(rootPath, webConfig), PathConstants.ALL, "ApplyConfigFilter", filterOrder.incrL1())
-            .addFilter(EchoFilter.create(environment), PathConstants.ALL, "EchoFilter", filterOrder.incrL1())
-            .addFilter(ExceptionHandlerFilter.INSTANCE, PathConstants.ALL, "ExceptionHandlerFilter", filterOrder.incrL1())
-            .addFilter(GlobalRequestParamsFilter.INSTANCE, PathConstants.ALL, "GlobalRequestParamsFilter", filterOrder.incrL1())
-            .addFilter(CorsFilter.create(environment), PathConstants.ALL, "CorsFilter", filterOrder.incrL1())
-            .addFilter(mvcBootstrap.getMvcHandlerMethodFilter(), PathConstants.ALL, "MvcHandlerMethodFilter", filterOrder.incrL1())
-            .addFilter(securityBootstrap.getAuthenticationFilter(), PathConstants.ALL, "AuthenticationFilter", filterOrder.incrL1())
-            .addFilter(securityBootstrap.getLoginFilter(), PathConstants.ALL, "LoginFilter", filterOrder.incrL1())
-            .addFilter(securityBootstrap.getLogoutFilter(), PathConstants.ALL, "LogoutFilter", filterOrder.incrL1())
-            .addFilter(securityBootstrap.getAuthorizationFilter(), PathConstants.ALL, "AuthorizationFilter", filterOrder.incrL1())
-            .addFilter(StaticResourceFilter.create(rootPath, environment), PathConstants.ALL, "StaticResourceFilter", filterOrder.incrL1())
-            .addFilter(mvcBootstrap.getMvcFilter(), PathConstants.ALL, "MvcFilter", filterOrder.incrL1());
+        final FilterPipelineConfig filterPipelineConfig = FilterPipelineConfig.create(environment);
+        final MetricsFilter metricsFilter = MetricsFilter.create(environment);
+        final StaticAssets staticAssets = StaticAssets.create(rootPath, environment);
+        AppShutdownHook.addShutdownHook(staticAssets::close, OrderIncrement.NORMAL, "停止静态资源文件监听");
+        // 请求日志(web.echo.async.enable=true 时异步输出)
+        final FilterRegistrar.FilterFuc echoFilter;
+        if (AsyncEchoConfig.create(environment).isEnable()) {
+            AsyncEchoFilter asyncEchoFilter = AsyncEchoFilter.create(environment);
+            AppShutdownHook.addShutdownHook(asyncEchoFilter::close, OrderIncrement.NORMAL, "停止异步请求日志");
+            echoFilter = asyncEchoFilter;
+        } else {
+            echoFilter = EchoFilter.create(environment);
+        }
+        if (filterPipelineConfig.isEnable()) {
+            // 预编译的过滤器链: 每个请求只执行需要处理它的Filter
+            final FilterPathRules rules = new FilterPathRules(environment);
+            final CompiledFilterPipeline pipeline = new CompiledFilterPipeline(filterPipelineConfig.getMaxCachedPaths())
+                .addFilter(ApplyConfigFilter.create(rootPath, webConfig), "ApplyConfigFilter", rules.all())
+                .addFilter(echoFilter, "EchoFilter", rules.echo())
+                .addFilter(ConnectionHoldFilter.create(environment), "ConnectionHoldFilter", rules.connectionHold())
+                .addFilter(ExceptionHandlerFilter.INSTANCE, "ExceptionHandlerFilter", rules.all())
+                .addFilter(GlobalRequestParamsFilter.INSTANCE, "GlobalRequestParamsFilter", rules.all())
+                .addFilter(CorsFilter.create(environment), "CorsFilter", rules.all())
+                .addFilter(mvcBootstrap.getMvcHandlerMethodFilter(), "MvcHandlerMethodFilter", rules.mvc())
+                .addFilter(securityBootstrap.getAuthenticationFilter(), "AuthenticationFilter", rules.security())
+                .addFilter(securityBootstrap.getLoginFilter(), "LoginFilter", rules.security())
+                .addFilter(securityBootstrap.getLogoutFilter(), "LogoutFilter", rules.security())
+                .addFilter(securityBootstrap.getAuthorizationFilter(), "AuthorizationFilter", rules.security())
+                .addFilter(metricsFilter, "MetricsFilter", rules.metrics())
+                .addFilter(new StaticAssetFilter(staticAssets), "StaticAssetFilter", rules.staticAssets())
+                .addFilter(StaticResourceFilter.create(rootPath, environment), "StaticResourceFilter", rules.staticResource())
+                .addFilter(ResponseCacheFilter.create(environment), "ResponseCacheFilter", rules.responseCache())
+                .addFilter(mvcBootstrap.getMvcFilter(), "MvcFilter", rules.mvc());
+            webServerBootstrap.getFilterRegistrar()
+                .addFilter(pipeline, PathConstants.ALL, "CompiledFilterPipeline", filterOrder.incrL1());
+        } else {
+            webServerBootstrap.getFilterRegistrar()
+                .addFilter(ApplyConfigFilter.create(rootPath, webConfig), PathConstants.ALL, "ApplyConfigFilter", filterOrder.incrL1())
+                .addFilter(echoFilter, PathConstants.ALL, "EchoFilter", filterOrder.incrL1())
+                .addFilter(ConnectionHoldFilter.create(environment), PathConstants.ALL, "ConnectionHoldFilter", filterOrder.incrL1())
+                .addFilter(ExceptionHandlerFilter.INSTANCE, PathConstants.ALL, "ExceptionHandlerFilter", filterOrder.incrL1())
+                .addFilter(GlobalRequestParamsFilter.INSTANCE, PathConstants.ALL, "GlobalRequestParamsFilter", filterOrder.incrL1())
+                .addFilter(CorsFilter.create(environment), PathConstants.ALL, "CorsFilter", filterOrder.incrL1())
+                .addFilter(mvcBootstrap.getMvcHandlerMethodFilter(), PathConstants.ALL, "MvcHandlerMethodFilter", filterOrder.incrL1())
+                .addFilter(securityBootstrap.getAuthenticationFilter(), PathConstants.ALL, "AuthenticationFilter", filterOrder.incrL1())
+                .addFilter(securityBootstrap.getLoginFilter(), PathConstants.ALL, "LoginFilter", filterOrder.incrL1())
+                .addFilter(securityBootstrap.getLogoutFilter(), PathConstants.ALL, "LogoutFilter", filterOrder.incrL1())
+                .addFilter(securityBootstrap.getAuthorizationFilter(), PathConstants.ALL, "AuthorizationFilter", filterOrder.incrL1())
+                .addFilter(metricsFilter, PathConstants.ALL, "MetricsFilter", filterOrder.incrL1())
+                .addFilter(new StaticAssetFilter(staticAssets), PathConstants.ALL, "StaticAssetFilter", filterOrder.incrL1())
+                .addFilter(StaticResourceFilter.create(rootPath, environment), PathConstants.ALL, "StaticResourceFilter", filterOrder.incrL1())
+                .addFilter(ResponseCacheFilter.create(environment), PathConstants.ALL, "ResponseCacheFilter", filterOrder.incrL1())
+                .addFilter(mvcBootstrap.getMvcFilter(), PathConstants.ALL, "MvcFilter", filterOrder.incrL1());
+        }
         // 注册 Servlet
         // OrderIncrement servletOrder = new OrderIncrement();
         // webServerBootstrap.getServletRegistrar()
@@ -0,0 +1,434 @@
+package org.clever.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.QueryCacheConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.clever.data.redis.RedisAdmin;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存(一级: 本地Caffeine缓存，二级: redis)
+ * <pre>
+ * 1. 缓存key = 数据源 + SQL + 参数 + 相关表的版本号
+ * 2. 修改数据后调用 invalidate 增加表版本号，旧的缓存不会再被读取(等待过期淘汰)
+ * 3. 表版本号保存在redis中，各节点每隔 version-refresh 同步一次
+ * 4. 同一个key只有一个线程查询数据库(single-flight)，其它线程等待结果
+ * 5. 缓存的结果是共享对象，调用方不能修改
+ * 6. 数据源存在读写事务时不使用缓存(直接查询数据库)，避免未提交的数据写入缓存
+ * 7. 表版本号只增不减，更新redis中的版本号失败时本地版本号加1，并且在redis更新成功之前该表不使用缓存(直接查询数据库)
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 21:20 <br/>
+ */
+@Slf4j
+public abstract class QueryCache {
+    public static final String METRICS_NAME = "jdbc.query-cache";
+    private static final ConcurrentMap<String, TableVersion> VERSIONS = new ConcurrentHashMap<>();
+    private static final LongAdder L2_HITS = new LongAdder();
+    private static final LongAdder LOADS = new LongAdder();
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+    private static final LongAdder TX_BYPASSES = new LongAdder();
+    private static final LongAdder DIRTY_BYPASSES = new LongAdder();
+    private static final LongAdder REDIS_ERRORS = new LongAdder();
+
+    private static volatile QueryCacheConfig config = new QueryCacheConfig();
+    private static volatile Cache<String, Object> local = newLocalCache(config);
+    private static volatile StringRedisTemplate versionRedis;
+    private static volatile RedisTemplate<String, Object> valueRedis;
+
+    static {
+        AppMetrics.register(METRICS_NAME, QueryCache::metrics);
+    }
+
+    /**
+     * 根据配置初始化缓存(在 RedisBootstrap 初始化之后调用)
+     */
+    public static void init(QueryCacheConfig queryCacheConfig) {
+        Assert.notNull(queryCacheConfig, "queryCacheConfig 不能为 null");
+        if (queryCacheConfig.isEnable() && StringUtils.isNotBlank(queryCacheConfig.getRedisName())) {
+            RedisConnectionFactory connectionFactory = RedisAdmin.getRedis(queryCacheConfig.getRedisName()).getRedisTemplate().getConnectionFactory();
+            Assert.notNull(connectionFactory, "redis 数据源不存在: " + queryCacheConfig.getRedisName());
+            RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+            redisTemplate.setConnectionFactory(connectionFactory);
+            redisTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+            redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer());
+            redisTemplate.afterPropertiesSet();
+            init(queryCacheConfig, new StringRedisTemplate(connectionFactory), redisTemplate);
+        } else {
+            init(queryCacheConfig, null, null);
+        }
+    }
+
+    /**
+     * @param versionRedis 保存表版本号(为 null 时表版本号只保存在本地)
+     * @param valueRedis   二级缓存(为 null 时不使用二级缓存)
+     */
+    static void init(QueryCacheConfig queryCacheConfig, StringRedisTemplate versionRedis, RedisTemplate<String, Object> valueRedis) {
+        config = queryCacheConfig;
+        local = newLocalCache(queryCacheConfig);
+        VERSIONS.clear();
+        QueryCache.versionRedis = versionRedis;
+        QueryCache.valueRedis = valueRedis;
+    }
+
+    /**
+     * 查询多条数据(使用缓存)
+     *
+     * @param jdbc     数据源
+     * @param sql      sql语句
+     * @param paramMap 参数
+     * @param tables   查询涉及的表(这些表的数据修改后缓存失效)
+     */
+    public static List<Map<String, Object>> queryMany(Jdbc jdbc, String sql, Map<String, Object> paramMap, String... tables) {
+        return get(jdbc, sql, paramMap, tables, () -> jdbc.queryMany(sql, paramMap));
+    }
+
+    /**
+     * 读取缓存，缓存不存在时使用 loader 加载
+     *
+     * @param jdbc     数据源
+     * @param sql      sql语句(作为缓存key的一部分)
+     * @param paramMap 参数(作为缓存key的一部分)
+     * @param tables   查询涉及的表(这些表的数据修改后缓存失效)
+     * @param loader   查询数据库
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Jdbc jdbc, String sql, Map<String, ?> paramMap, String[] tables, Supplier<T> loader) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        Assert.notBlank(sql, "sql 不能为空");
+        Assert.isTrue(tables != null && tables.length > 0, "tables 不能为空");
+        Assert.notNull(loader, "loader 不能为 null");
+        if (!config.isEnable()) {
+            return loader.get();
+        }
+        if (inReadWriteTransaction(jdbc.getJdbcTemplate().getJdbcTemplate().getDataSource())) {
+            // 事务中可能读取到未提交的数据，不能写入缓存
+            TX_BYPASSES.increment();
+            return loader.get();
+        }
+        for (String table : tables) {
+            if (refreshVersion(jdbc.getDataSourceName(), table).dirty) {
+                // 其它节点不知道该表已修改，写入或读取共享的缓存都可能是旧数据
+                DIRTY_BYPASSES.increment();
+                return loader.get();
+            }
+        }
+        final String key = buildKey(jdbc.getDataSourceName(), sql, paramMap, tables);
+        return (T) local.get(key, k -> loadRemote(k, loader));
+    }
+
+    /**
+     * 表数据已修改，使相关缓存失效(在事务中调用时，事务结束后(提交或回滚)会再失效一次)
+     *
+     * @param jdbc   数据源
+     * @param tables 修改的表
+     */
+    public static void invalidate(Jdbc jdbc, String... tables) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        invalidate(jdbc.getDataSourceName(), tables);
+    }
+
+    /**
+     * 表数据已修改，使相关缓存失效(在事务中调用时，事务结束后(提交或回滚)会再失效一次)
+     *
+     * @param dataSourceName 数据源名称
+     * @param tables         修改的表
+     */
+    public static void invalidate(String dataSourceName, String... tables) {
+        if (!config.isEnable() || tables == null || tables.length == 0) {
+            return;
+        }
+        increaseVersions(dataSourceName, tables);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务结束前其它线程可能读取旧数据并写入缓存，回滚时也需要失效
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increaseVersions(dataSourceName, tables);
+                }
+            });
+        }
+    }
+
+    /**
+     * 新增数据并使表相关的缓存失效
+     */
+    public static int insertTable(Jdbc jdbc, String tableName, Map<String, ?> fields) {
+        int count = jdbc.insertTable(tableName, fields);
+        invalidate(jdbc, tableName);
+        return count;
+    }
+
+    /**
+     * 执行更新SQL并使相关缓存失效
+     *
+     * @param tables 更新SQL修改的表
+     */
+    public static int update(Jdbc jdbc, String sql, Map<String, Object> paramMap, String... tables) {
+        int count = jdbc.update(sql, paramMap);
+        invalidate(jdbc, tables);
+        return count;
+    }
+
+    /**
+     * 当前线程是否存在绑定了该数据源的读写事务
+     */
+    static boolean inReadWriteTransaction(DataSource dataSource) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return dataSource != null && TransactionSynchronizationManager.hasResource(dataSource);
+    }
+
+    private static Object loadRemote(String key, Supplier<?> loader) {
+        final RedisTemplate<String, Object> redis = valueRedis;
+        final String redisKey = redis == null ? null : config.getKeyPrefix() + "data:" + sha256(key);
+        if (redis != null) {
+            try {
+                Object value = redis.opsForValue().get(redisKey);
+                if (value != null) {
+                    L2_HITS.increment();
+                    return value;
+                }
+            } catch (Exception e) {
+                REDIS_ERRORS.increment();
+                log.warn("读取redis查询缓存失败 | key={}", redisKey, e);
+            }
+        }
+        LOADS.increment();
+        final Object value = loader.get();
+        if (redis != null && value instanceof Serializable) {
+            try {
+                redis.opsForValue().set(redisKey, value, config.getRedisTtl().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                REDIS_ERRORS.increment();
+                log.warn("写入redis查询缓存失败 | key={}", redisKey, e);
+            }
+        }
+        return value;
+    }
+
+    private static String buildKey(String dataSourceName, String sql, Map<String, ?> paramMap, String[] tables) {
+        final StringBuilder key = new StringBuilder(sql.length() + 64);
+        key.append(dataSourceName).append('|');
+        for (String table : tables) {
+            key.append(getVersion(dataSourceName, table)).append(',');
+        }
+        key.append('|').append(sql).append('|');
+        if (paramMap != null) {
+            for (Map.Entry<String, ?> entry : new TreeMap<>(paramMap).entrySet()) {
+                key.append(entry.getKey()).append('=');
+                appendValue(key, entry.getValue());
+                key.append('&');
+            }
+        }
+        return key.toString();
+    }
+
+    private static void appendValue(StringBuilder key, Object value) {
+        if (value == null) {
+            key.append("null");
+            return;
+        }
+        key.append(value.getClass().getSimpleName()).append(':');
+        if (value instanceof Date date) {
+            key.append(date.getTime());
+        } else if (value instanceof Object[] array) {
+            key.append(Arrays.deepToString(array));
+        } else if (value.getClass().isArray()) {
+            key.append(Arrays.deepToString(new Object[]{value}));
+        } else {
+            key.append(value);
+        }
+    }
+
+    static long getVersion(String dataSourceName, String table) {
+        return refreshVersion(dataSourceName, table).version;
+    }
+
+    static boolean isDirty(String dataSourceName, String table) {
+        return refreshVersion(dataSourceName, table).dirty;
+    }
+
+    /**
+     * 每隔 version-refresh 从redis同步一次表版本号，本地版本号领先于redis时(dirty)重新更新redis中的版本号
+     */
+    private static TableVersion refreshVersion(String dataSourceName, String table) {
+        final TableVersion tableVersion = VERSIONS.computeIfAbsent(versionKey(dataSourceName, table), TableVersion::new);
+        final StringRedisTemplate redis = versionRedis;
+        final long now = System.nanoTime();
+        if (redis == null || now - tableVersion.refreshAt <= config.getVersionRefresh().toNanos()) {
+            return tableVersion;
+        }
+        tableVersion.refreshAt = now;
+        try {
+            if (tableVersion.dirty) {
+                final long generation = tableVersion.dirtyGeneration;
+                tableVersion.increased(increaseRedisVersion(redis, tableVersion), generation);
+            } else {
+                String value = redis.opsForValue().get(redisVersionKey(tableVersion));
+                long version = value == null ? 0 : Long.parseLong(value);
+                if (version < tableVersion.version) {
+                    // redis中的版本号被重置(如: 数据被清除)，不能使用更小的版本号，等待下次同步时更新redis
+                    tableVersion.markDirty();
+                } else {
+                    tableVersion.synced(version);
+                }
+            }
+        } catch (Exception e) {
+            REDIS_ERRORS.increment();
+            log.warn("同步表版本号失败 | table={}", tableVersion.key, e);
+        }
+        return tableVersion;
+    }
+
+    private static void increaseVersions(String dataSourceName, String[] tables) {
+        final StringRedisTemplate redis = versionRedis;
+        for (String table : tables) {
+            final TableVersion tableVersion = VERSIONS.computeIfAbsent(versionKey(dataSourceName, table), TableVersion::new);
+            INVALIDATIONS.increment();
+            if (redis == null) {
+                tableVersion.increase();
+                continue;
+            }
+            final long generation = tableVersion.dirtyGeneration;
+            try {
+                tableVersion.increased(increaseRedisVersion(redis, tableVersion), generation);
+            } catch (Exception e) {
+                REDIS_ERRORS.increment();
+                log.warn("更新表版本号失败 | table={}", tableVersion.key, e);
+                // 本地缓存立即失效，其它节点要等到redis更新成功后才知道表已修改
+                tableVersion.increase();
+                tableVersion.markDirty();
+            }
+        }
+    }
+
+    /**
+     * 增加redis中的版本号，返回的版本号一定大于本地版本号(没有被任何节点使用过)
+     */
+    private static long increaseRedisVersion(StringRedisTemplate redis, TableVersion tableVersion) {
+        final String key = redisVersionKey(tableVersion);
+        Long version = redis.opsForValue().increment(key);
+        Assert.notNull(version, "redis INCR 返回 null");
+        final long localVersion = tableVersion.version;
+        if (version <= localVersion) {
+            version = redis.opsForValue().increment(key, localVersion - version + 1);
+            Assert.notNull(version, "redis INCRBY 返回 null");
+        }
+        return version;
+    }
+
+    private static String redisVersionKey(TableVersion tableVersion) {
+        return config.getKeyPrefix() + "version:" + tableVersion.key;
+    }
+
+    private static String versionKey(String dataSourceName, String table) {
+        return dataSourceName + ":" + StringUtils.lowerCase(StringUtils.trim(table));
+    }
+
+    private static Cache<String, Object> newLocalCache(QueryCacheConfig config) {
+        return Caffeine.newBuilder()
+            .maximumSize(config.getLocalMaximumSize())
+            .expireAfterWrite(config.getLocalTtl())
+            .recordStats()
+            .build();
+    }
+
+    private static String sha256(String str) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(str.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Long> metrics() {
+        final Cache<String, Object> current = local;
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("size", current.estimatedSize());
+        values.put("l1Hits", current.stats().hitCount());
+        values.put("l2Hits", L2_HITS.sum());
+        values.put("loads", LOADS.sum());
+        values.put("invalidations", INVALIDATIONS.sum());
+        values.put("txBypasses", TX_BYPASSES.sum());
+        values.put("dirtyBypasses", DIRTY_BYPASSES.sum());
+        values.put("redisErrors", REDIS_ERRORS.sum());
+        return values;
+    }
+
+    private static final class TableVersion {
+        private final String key;
+        private volatile long version;
+        private volatile long refreshAt;
+        /**
+         * 本地版本号领先于redis(更新redis失败)，在redis更新成功之前不使用缓存
+         */
+        private volatile boolean dirty;
+        /**
+         * 每次 markDirty 加1，用于判断增加redis版本号期间是否有新的更新失败
+         */
+        private volatile long dirtyGeneration;
+
+        private TableVersion(String key) {
+            this.key = key;
+            // 首次使用时立即从redis读取
+            this.refreshAt = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        }
+
+        private synchronized void increase() {
+            version++;
+        }
+
+        /**
+         * 使用从redis读取的版本号(不会减小本地版本号)
+         */
+        private synchronized void synced(long redisVersion) {
+            version = Math.max(version, redisVersion);
+        }
+
+        /**
+         * 本节点增加redis版本号成功，其它节点同步时就能知道表已修改
+         *
+         * @param generation 增加redis版本号之前的 dirtyGeneration
+         */
+        private synchronized void increased(long redisVersion, long generation) {
+            version = Math.max(version, redisVersion);
+            refreshAt = System.nanoTime();
+            if (generation == dirtyGeneration) {
+                dirty = false;
+            }
+        }
+
+        private synchronized void markDirty() {
+            dirtyGeneration++;
+            dirty = true;
+            // 下次读取时立即重新更新redis
+            refreshAt = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        }
+    }
+}
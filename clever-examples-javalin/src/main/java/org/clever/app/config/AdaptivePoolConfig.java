@@ -0,0 +1,73 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 连接池大小自适应配置(AdaptivePoolController)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:10 <br/>
+ */
+@Data
+public class AdaptivePoolConfig {
+    public static final String PREFIX = "jdbc.adaptive-pool";
+
+    public static AdaptivePoolConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, AdaptivePoolConfig.class).orElseGet(AdaptivePoolConfig::new);
+    }
+
+    /**
+     * 是否根据负载调整连接池大小
+     */
+    private boolean enable = false;
+    /**
+     * 采样和调整的时间间隔
+     */
+    private Duration interval = Duration.ofSeconds(10);
+    /**
+     * 目标连接利用率(所需连接数 = 到达率 * 平均占用时间 / 目标利用率)
+     */
+    private double targetUtilization = 0.7;
+    /**
+     * 连接池最小的 maximum-pool-size
+     */
+    private int minSize = 2;
+    /**
+     * 连接池最大的 maximum-pool-size(单个节点的安全上限)，小于等于0时使用数据源配置的 maximum-pool-size
+     */
+    private int maxSize = 0;
+    /**
+     * 连续多少次采样都需要缩小时才缩小连接池(扩大时立即生效)
+     */
+    private int shrinkDelay = 6;
+    /**
+     * 每次缩小的最大比例
+     */
+    private double maxShrinkRatio = 0.25;
+    /**
+     * 一个采样周期内获取连接的平均等待时间超过该值时扩大连接池
+     */
+    private Duration acquireThreshold = Duration.ofMillis(5);
+    /**
+     * 单独配置某个数据源的上下限(数据源名称 -> 配置)
+     */
+    private Map<String, Bounds> pools = new LinkedHashMap<>();
+
+    @Data
+    public static class Bounds {
+        /**
+         * 小于等于0时使用全局配置
+         */
+        private int minSize = 0;
+        /**
+         * 小于等于0时使用全局配置
+         */
+        private int maxSize = 0;
+    }
+}
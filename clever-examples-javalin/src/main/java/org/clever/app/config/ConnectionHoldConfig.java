@@ -0,0 +1,31 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 请求占用数据库连接时间的统计配置(ConnectionHoldFilter)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:40 <br/>
+ */
+@Data
+public class ConnectionHoldConfig {
+    public static final String PREFIX = "web.connection-hold";
+
+    public static ConnectionHoldConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, ConnectionHoldConfig.class).orElseGet(ConnectionHoldConfig::new);
+    }
+
+    /**
+     * 是否统计请求占用数据库连接的时间
+     */
+    private boolean enable = false;
+    /**
+     * 一次请求占用连接的时间超过该值时输出警告日志
+     */
+    private Duration warnThreshold = Duration.ofSeconds(1);
+}
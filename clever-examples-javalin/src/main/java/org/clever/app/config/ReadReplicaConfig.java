@@ -0,0 +1,32 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 只读查询路由到从库的配置(ReadReplicas)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:50 <br/>
+ */
+@Data
+public class ReadReplicaConfig {
+    public static final String PREFIX = "jdbc.read-replica";
+
+    public static ReadReplicaConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, ReadReplicaConfig.class).orElseGet(ReadReplicaConfig::new);
+    }
+
+    /**
+     * 是否启用从库路由(禁用时始终使用主库)
+     */
+    private boolean enable = false;
+    /**
+     * 主库数据源名称 -> 从库数据源名称(都必须在 jdbc.data-source 中配置)
+     */
+    private Map<String, String> replicas = new LinkedHashMap<>();
+}
@@ -0,0 +1,38 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * MVC响应缓存配置(@CacheResponse)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 21:50 <br/>
+ */
+@Data
+public class ResponseCacheConfig {
+    public static final String PREFIX = "web.response-cache";
+
+    public static ResponseCacheConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, ResponseCacheConfig.class).orElseGet(ResponseCacheConfig::new);
+    }
+
+    /**
+     * 是否启用响应缓存
+     */
+    private boolean enable = false;
+    /**
+     * 缓存的响应数据总大小上限
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    /**
+     * 单个响应超过该大小时不缓存
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+    /**
+     * 缓存的请求路径(处理函数解析结果)数量上限(超过上限时淘汰不常用的请求路径)
+     */
+    private int maxCachedPaths = 4096;
+}
@@ -0,0 +1,207 @@
+package org.clever.app.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.config.AsyncEchoConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.thread.RingBuffer;
+import org.clever.core.Assert;
+import org.clever.web.FilterRegistrar;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步输出请求日志，用于替换 EchoFilter
+ * <pre>
+ * 1. web.echo.ignore-paths 在启动时编译成 PathPatternMatcher，请求时不再逐个调用 AntPathMatcher
+ * 2. 请求线程只把请求数据写入预分配的环形缓冲区(无锁、不创建事件对象)，日志格式化和输出由后台线程完成
+ * 3. 缓冲区满时直接丢弃日志而不是阻塞请求线程，丢弃数量通过 AppMetrics 导出(web.echo)
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:10 <br/>
+ */
+@Slf4j
+public class AsyncEchoFilter implements FilterRegistrar.FilterFuc, AutoCloseable {
+    public static final String METRICS_NAME = "web.echo";
+
+    public static AsyncEchoFilter create(Environment environment) {
+        Binder binder = Binder.get(environment);
+        boolean enable = binder.bind("web.echo.enable", Boolean.class).orElse(true);
+        List<String> ignorePaths = binder.bind("web.echo.ignore-paths", Bindable.listOf(String.class)).orElse(Collections.emptyList());
+        return new AsyncEchoFilter(AsyncEchoConfig.create(environment), enable, ignorePaths);
+    }
+
+    private final boolean enable;
+    private final PathPatternMatcher ignorePaths;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final RingBuffer<Event> ring;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncEchoFilter(AsyncEchoConfig config, boolean enable, List<String> ignorePaths) {
+        Assert.isTrue(config.getBufferSize() > 0, "bufferSize 必须大于0");
+        Assert.isTrue(config.getBatchSize() > 0, "batchSize 必须大于0");
+        this.enable = enable;
+        this.ignorePaths = new PathPatternMatcher(ignorePaths);
+        this.batchSize = config.getBatchSize();
+        this.idleWaitNanos = Math.max(config.getIdleWait().toNanos(), TimeUnit.MICROSECONDS.toNanos(100));
+        this.ring = new RingBuffer<>(config.getBufferSize(), Event::new);
+        this.writer = new Thread(this::drain, "async-echo-writer");
+        this.writer.setDaemon(true);
+        if (enable) {
+            this.writer.start();
+        }
+        AppMetrics.register(METRICS_NAME, this::metrics);
+    }
+
+    @SneakyThrows
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        final HttpServletRequest request = ctx.req;
+        if (!enable || !log.isInfoEnabled() || ignorePaths.matches(request.getRequestURI())) {
+            ctx.next();
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            ctx.next();
+        } finally {
+            publish(request, ctx.res.getStatus(), System.nanoTime() - start);
+        }
+    }
+
+    private void publish(HttpServletRequest request, int status, long costNanos) {
+        final long seq = ring.tryClaim();
+        if (seq < 0) {
+            dropped.increment();
+            return;
+        }
+        final Event event = ring.get(seq);
+        event.method = request.getMethod();
+        event.uri = request.getRequestURI();
+        event.query = request.getQueryString();
+        event.remoteAddr = request.getRemoteAddr();
+        event.status = status;
+        event.costNanos = costNanos;
+        event.thread = Thread.currentThread().getName();
+        event.dbMillis = request.getAttribute(ConnectionHoldFilter.ATTRIBUTE) instanceof Long millis ? millis : -1;
+        ring.publish(seq);
+    }
+
+    private void drain() {
+        final StringBuilder line = new StringBuilder(256);
+        long next = ring.getConsumed();
+        long reportedDropped = 0;
+        while (running || ring.getPending() > 0) {
+            int count = 0;
+            Event event;
+            while (count < batchSize && (event = ring.peek(next)) != null) {
+                try {
+                    line.setLength(0);
+                    format(event, line);
+                    log.info(line.toString());
+                } catch (Throwable e) {
+                    log.warn("请求日志输出失败", e);
+                } finally {
+                    event.clear();
+                    ring.release(next);
+                    next++;
+                    count++;
+                }
+            }
+            written.add(count);
+            long totalDropped = dropped.sum();
+            if (totalDropped > reportedDropped) {
+                log.warn("请求日志缓冲区已满，丢弃了 {} 条日志", totalDropped - reportedDropped);
+                reportedDropped = totalDropped;
+            }
+            if (count == 0) {
+                // 已申请但还未写完的槽位也在这里等待
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+    }
+
+    private static void format(Event event, StringBuilder line) {
+        line.append(event.method).append(' ').append(event.uri);
+        if (event.query != null) {
+            line.append('?').append(event.query);
+        }
+        line.append(" | status=").append(event.status)
+            .append(" | cost=").append(TimeUnit.NANOSECONDS.toMicros(event.costNanos) / 1000.0).append("ms");
+        if (event.dbMillis >= 0) {
+            line.append(" | db=").append(event.dbMillis).append("ms");
+        }
+        line.append(" | ip=").append(event.remoteAddr)
+            .append(" | thread=").append(event.thread);
+    }
+
+    private Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("written", written.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("pending", ring.getPending());
+        metrics.put("bufferSize", ring.getCapacity());
+        return metrics;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 停止后台线程(会先输出缓冲区中剩余的日志)
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        AppMetrics.unregister(METRICS_NAME);
+    }
+
+    /**
+     * 环形缓冲区中可复用的事件
+     */
+    private static final class Event {
+        private String method;
+        private String uri;
+        private String query;
+        private String remoteAddr;
+        private String thread;
+        private int status;
+        private long costNanos;
+        /**
+         * 占用数据库连接的时间(毫秒)，-1表示未统计或者未使用数据库连接
+         */
+        private long dbMillis;
+
+        private void clear() {
+            method = null;
+            uri = null;
+            query = null;
+            remoteAddr = null;
+            thread = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.clever.app.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.MetricsExportConfig;
+import org.clever.app.metrics.MetricsExporter;
+import org.clever.web.FilterRegistrar;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 指标导出接口
+ * <pre>
+ * GET {path}       Prometheus 文本格式
+ * GET {path}.json  JSON格式(包含每个SQL最慢的执行记录)
+ * </pre>
+ * 放在Security相关Filter之后执行，Prometheus需要免登录采集时把 path 加入 web.security.ignore-paths
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+public class MetricsFilter implements FilterRegistrar.FilterFuc {
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static MetricsFilter create(Environment environment) {
+        return new MetricsFilter(MetricsExportConfig.create(environment));
+    }
+
+    private final MetricsExportConfig config;
+    private final String jsonPath;
+
+    public MetricsFilter(MetricsExportConfig config) {
+        this.config = config;
+        this.jsonPath = config.getPath() + ".json";
+    }
+
+    @SneakyThrows
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        final HttpServletRequest request = ctx.req;
+        final HttpServletResponse response = ctx.res;
+        if (!config.isEnable() || !"GET".equals(request.getMethod())) {
+            ctx.next();
+            return;
+        }
+        final String path = request.getRequestURI().substring(StringUtils.length(request.getContextPath()));
+        if (path.equals(config.getPath())) {
+            StringBuilder body = new StringBuilder(16 * 1024);
+            MetricsExporter.writePrometheus(body, config.getTopSql());
+            write(response, PROMETHEUS_CONTENT_TYPE, body.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (path.equals(jsonPath)) {
+            write(response, "application/json; charset=utf-8", MAPPER.writeValueAsBytes(MetricsExporter.toJson(config.getTopSql())));
+        } else {
+            ctx.next();
+        }
+    }
+
+    private static void write(HttpServletResponse response, String contentType, byte[] body) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
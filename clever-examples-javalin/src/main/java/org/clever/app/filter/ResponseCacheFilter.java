@@ -0,0 +1,554 @@
+package org.clever.app.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.Data;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.ResponseCacheConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.web.CacheResponse;
+import org.clever.core.AppContextHolder;
+import org.clever.web.FilterRegistrar;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存使用了 @CacheResponse 注解的MVC处理函数的响应数据
+ * <pre>
+ * 1. 根据 web.mvc.path 和 web.mvc.package-mapping 把请求路径解析成处理函数(结果按请求路径缓存，类加载器变化或者类被热重载后重新解析)
+ * 2. 缓存命中时直接输出缓存的响应数据，If-None-Match 与 ETag 相同时返回 304(未命中缓存的请求也一样)
+ * 3. 需要放在Security相关Filter之后、MvcFilter之前执行
+ * 4. 缓存key默认包含当前用户(Principal 或 web.security.token.jwt-token-name 对应的请求头/cookie)，@CacheResponse(shared = true) 时所有用户共享
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 21:50 <br/>
+ */
+@Slf4j
+public class ResponseCacheFilter implements FilterRegistrar.FilterFuc {
+    public static final String METRICS_NAME = "web.response-cache";
+    private static final Handler NONE = new Handler(null, null, Optional.empty());
+
+    public static ResponseCacheFilter create(Environment environment) {
+        Binder binder = Binder.get(environment);
+        String mvcPath = binder.bind("web.mvc.path", String.class).orElse("/");
+        List<PackageMapping> packageMappings = binder.bind("web.mvc.package-mapping", Bindable.listOf(PackageMapping.class)).orElse(Collections.emptyList());
+        String tokenName = binder.bind("web.security.token.jwt-token-name", String.class).orElse("authorization");
+        return new ResponseCacheFilter(ResponseCacheConfig.create(environment), mvcPath, packageMappings, tokenName);
+    }
+
+    private final ResponseCacheConfig config;
+    private final String mvcPath;
+    private final List<PackageMapping> packageMappings;
+    /**
+     * 用户登录凭证(JWT-Token)的请求头/cookie名称
+     */
+    private final String tokenName;
+    /**
+     * 请求路径 -> 处理函数上的 @CacheResponse
+     */
+    private final Cache<String, Handler> handlers;
+    private final Cache<String, Entry> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    public ResponseCacheFilter(ResponseCacheConfig config, String mvcPath, List<PackageMapping> packageMappings, String tokenName) {
+        this.config = config;
+        this.tokenName = tokenName;
+        this.mvcPath = StringUtils.removeEnd(StringUtils.defaultIfBlank(mvcPath, "/"), "/");
+        // 最长的 path-prefix 优先匹配
+        this.packageMappings = packageMappings.stream()
+            .filter(mapping -> StringUtils.isNotBlank(mapping.getPathPrefix()) && StringUtils.isNotBlank(mapping.getPackagePrefix()))
+            .sorted(Comparator.comparingInt((PackageMapping mapping) -> mapping.getPathPrefix().length()).reversed())
+            .toList();
+        this.handlers = Caffeine.newBuilder().maximumSize(config.getMaxCachedPaths()).build();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaxSize().toBytes())
+            .weigher((String key, Entry entry) -> key.length() * 2 + entry.body.length)
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                    return entry.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                    return entry.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        AppMetrics.register(METRICS_NAME, this::metrics);
+    }
+
+    public boolean isEnable() {
+        return config.isEnable();
+    }
+
+    @SneakyThrows
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        final HttpServletRequest request = ctx.req;
+        if (!config.isEnable() || !"GET".equals(request.getMethod())) {
+            ctx.next();
+            return;
+        }
+        final String path = request.getRequestURI().substring(StringUtils.length(request.getContextPath()));
+        final CacheResponse cacheResponse = getCacheResponse(path).orElse(null);
+        if (cacheResponse == null) {
+            ctx.next();
+            return;
+        }
+        final String key = buildKey(path, request, cacheResponse);
+        final Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            savedNanos.add(cached.handlerNanos);
+            write(request, ctx.res, cached);
+            return;
+        }
+        misses.increment();
+        final long startTime = System.nanoTime();
+        final CapturingResponse capture = new CapturingResponse(ctx.res, config.getMaxEntrySize().toBytes());
+        ctx.chain.doFilter(request, capture);
+        final byte[] body = capture.finish();
+        if (body == null) {
+            // 响应数据过大，已直接输出
+            return;
+        }
+        final HttpServletResponse response = ctx.res;
+        if (capture.getStatus() == HttpServletResponse.SC_OK) {
+            String etag = response.getHeader("ETag");
+            if (StringUtils.isBlank(etag)) {
+                etag = etag(body);
+                response.setHeader("ETag", etag);
+            }
+            cache.put(key, new Entry(body, response.getContentType(), etag, System.nanoTime() - startTime, TimeUnit.SECONDS.toNanos(cacheResponse.ttl())));
+            if (matches(request.getHeader("If-None-Match"), etag)) {
+                notModified.increment();
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 清空所有缓存
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    Optional<CacheResponse> getCacheResponse(String path) {
+        final ClassLoader hotReloadClassLoader = AppContextHolder.getBean("hotReloadClassLoader", ClassLoader.class);
+        final ClassLoader classLoader = hotReloadClassLoader != null ? hotReloadClassLoader : contextClassLoader();
+        Handler handler = handlers.get(path, key -> resolve(key, classLoader));
+        if (handler.isStale(classLoader, hotReloadClassLoader != null)) {
+            handler = resolve(path, classLoader);
+            handlers.put(path, handler);
+        }
+        return handler.cacheResponse;
+    }
+
+    /**
+     * 请求路径 /{mvc.path}/{path-prefix}/{类名}@{函数名} 解析成处理函数
+     */
+    private Handler resolve(String path, ClassLoader classLoader) {
+        if (!path.startsWith(mvcPath + "/")) {
+            return NONE;
+        }
+        final String subPath = path.substring(mvcPath.length());
+        final int at = subPath.lastIndexOf('@');
+        if (at <= 0 || at == subPath.length() - 1) {
+            return NONE;
+        }
+        final String methodName = subPath.substring(at + 1);
+        for (PackageMapping mapping : packageMappings) {
+            final String pathPrefix = StringUtils.appendIfMissing(mapping.getPathPrefix(), "/");
+            if (!subPath.startsWith(pathPrefix)) {
+                continue;
+            }
+            final String className = StringUtils.removeEnd(mapping.getPackagePrefix(), ".") + "." + subPath.substring(pathPrefix.length(), at).replace('/', '.');
+            // kotlin 顶层函数编译后的类名为 xxxKt
+            for (String name : new String[]{className, className + "Kt"}) {
+                Class<?> clazz = loadClass(name, classLoader);
+                if (clazz == null) {
+                    continue;
+                }
+                for (Method method : clazz.getMethods()) {
+                    if (method.getName().equals(methodName) && Modifier.isStatic(method.getModifiers())) {
+                        return new Handler(classLoader, clazz, Optional.ofNullable(method.getAnnotation(CacheResponse.class)));
+                    }
+                }
+            }
+            return new Handler(classLoader, null, Optional.empty());
+        }
+        return NONE;
+    }
+
+    private static ClassLoader contextClassLoader() {
+        return Optional.ofNullable(Thread.currentThread().getContextClassLoader()).orElse(ResponseCacheFilter.class.getClassLoader());
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    String buildKey(String path, HttpServletRequest request, CacheResponse cacheResponse) {
+        final StringBuilder key = new StringBuilder(128);
+        append(key, path);
+        append(key, cacheResponse.shared() ? null : currentUser(request));
+        final String[] params = cacheResponse.params();
+        if (params.length == 1 && CacheResponse.ALL_PARAMS.equals(params[0])) {
+            for (Map.Entry<String, String[]> entry : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                append(key, entry.getKey());
+                for (String value : entry.getValue()) {
+                    append(key, value);
+                }
+            }
+        } else {
+            for (String param : params) {
+                append(key, param);
+                String[] values = request.getParameterValues(param);
+                if (values != null) {
+                    for (String value : values) {
+                        append(key, value);
+                    }
+                }
+            }
+        }
+        for (String header : cacheResponse.headers()) {
+            append(key, header);
+            append(key, request.getHeader(header));
+        }
+        for (String name : cacheResponse.cookies()) {
+            append(key, name);
+            append(key, getCookie(request, name));
+        }
+        return key.toString();
+    }
+
+    /**
+     * 当前用户标识(未登录时返回空字符串)，登录凭证只保存摘要
+     */
+    private String currentUser(HttpServletRequest request) {
+        final Principal principal = request.getUserPrincipal();
+        if (principal != null && StringUtils.isNotBlank(principal.getName())) {
+            return "p:" + principal.getName();
+        }
+        String token = request.getHeader(tokenName);
+        if (StringUtils.isBlank(token)) {
+            token = getCookie(request, tokenName);
+        }
+        if (StringUtils.isBlank(token)) {
+            return "";
+        }
+        return "t:" + digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getCookie(HttpServletRequest request, String name) {
+        final Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 带长度前缀，避免不同的参数拼接成相同的key
+     */
+    private static void append(StringBuilder key, String value) {
+        if (value == null) {
+            key.append("-1:");
+            return;
+        }
+        key.append(value.length()).append(':').append(value);
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, Entry entry) throws IOException {
+        response.setHeader("ETag", entry.etag);
+        if (matches(request.getHeader("If-None-Match"), entry.etag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.contentType != null) {
+            response.setContentType(entry.contentType);
+        }
+        response.setContentLength(entry.body.length);
+        response.getOutputStream().write(entry.body);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        final String target = StringUtils.removeStart(etag, "W/");
+        for (String item : StringUtils.split(ifNoneMatch, ',')) {
+            String value = StringUtils.removeStart(item.trim(), "W/");
+            if ("*".equals(value) || value.equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + digest(body) + "\"";
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Long> metrics() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("size", cache.estimatedSize());
+        values.put("bytes", cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        values.put("hits", hits.sum());
+        values.put("misses", misses.sum());
+        values.put("notModified", notModified.sum());
+        values.put("savedMillis", TimeUnit.NANOSECONDS.toMillis(savedNanos.sum()));
+        return values;
+    }
+
+    /**
+     * 只用于绑定 web.mvc.package-mapping
+     */
+    @Data
+    public static class PackageMapping {
+        private String pathPrefix;
+        private String packagePrefix;
+    }
+
+    /**
+     * 请求路径解析的结果
+     */
+    private static final class Handler {
+        /**
+         * 解析时使用的类加载器(不是处理函数的请求路径时为 null)
+         */
+        private final ClassLoader classLoader;
+        /**
+         * 处理函数所在的类(类不存在时为 null)
+         */
+        private final Class<?> clazz;
+        private final Optional<CacheResponse> cacheResponse;
+
+        private Handler(ClassLoader classLoader, Class<?> clazz, Optional<CacheResponse> cacheResponse) {
+            this.classLoader = classLoader;
+            this.clazz = clazz;
+            this.cacheResponse = cacheResponse;
+        }
+
+        /**
+         * 类加载器已经变化，或者启用了热重载并且类已经被重新加载(开发环境每次请求都检查)
+         */
+        private boolean isStale(ClassLoader current, boolean hotReload) {
+            if (classLoader == null) {
+                return false;
+            }
+            if (classLoader != current) {
+                return true;
+            }
+            return hotReload && (clazz == null || loadClass(clazz.getName(), current) != clazz);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] body;
+        private final String contentType;
+        private final String etag;
+        private final long handlerNanos;
+        private final long ttlNanos;
+
+        private Entry(byte[] body, String contentType, String etag, long handlerNanos, long ttlNanos) {
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.handlerNanos = handlerNanos;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /**
+     * 把响应数据缓存在内存中，超过 limit 后切换为直接输出(不再缓存)
+     */
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+        private final long limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private ServletOutputStream output;
+        private ServletOutputStream direct;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        private CapturingResponse(HttpServletResponse response, long limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return outputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (output != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                Charset charset = Charset.forName(StringUtils.defaultIfBlank(getCharacterEncoding(), StandardCharsets.UTF_8.name()));
+                writer = new PrintWriter(new OutputStreamWriter(outputStream(), charset));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (direct != null) {
+                super.setContentLengthLong(len);
+            } else {
+                contentLength = len;
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (direct != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (buffer != null) {
+                buffer.reset();
+            }
+            contentLength = -1;
+        }
+
+        /**
+         * 请求处理完成，返回缓存的响应数据(已直接输出时返回 null)
+         */
+        private byte[] finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (direct != null) {
+                direct.flush();
+                return null;
+            }
+            return buffer.toByteArray();
+        }
+
+        private ServletOutputStream outputStream() {
+            if (output == null) {
+                output = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("setWriteListener");
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        if (direct == null && buffer.size() + (long) len > limit) {
+                            switchToDirect();
+                        }
+                        if (direct != null) {
+                            direct.write(b, off, len);
+                        } else {
+                            buffer.write(b, off, len);
+                        }
+                    }
+                };
+            }
+            return output;
+        }
+
+        private void switchToDirect() throws IOException {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            direct = super.getOutputStream();
+            buffer.writeTo(direct);
+            buffer = null;
+        }
+    }
+}
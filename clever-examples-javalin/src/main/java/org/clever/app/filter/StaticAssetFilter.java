@@ -0,0 +1,171 @@
+package org.clever.app.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.clever.app.web.StaticAssets;
+import org.clever.web.FilterRegistrar;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 使用 StaticAssets 输出静态资源(预压缩、强ETag、零拷贝)，找不到的文件交给后续的 StaticResourceFilter 处理
+ * <pre>
+ * 大文件输出方式(按优先级，只输出 cache-dir 中不会被修改的副本):
+ * 1. Tomcat: sendfile
+ * 2. Jetty: HttpOutput.sendContent(内存映射的ByteBuffer)
+ * 3. FileChannel.transferTo
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 22:30 <br/>
+ */
+public class StaticAssetFilter implements FilterRegistrar.FilterFuc {
+    private static final String TOMCAT_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String TOMCAT_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String TOMCAT_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String TOMCAT_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    /**
+     * Jetty HttpOutput.sendContent(ByteBuffer)
+     */
+    private static final ClassValue<Method> SEND_CONTENT = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("sendContent", ByteBuffer.class);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final StaticAssets staticAssets;
+    private final String immutableCacheControl;
+
+    public StaticAssetFilter(StaticAssets staticAssets) {
+        this.staticAssets = staticAssets;
+        this.immutableCacheControl = "public, max-age=" + staticAssets.getConfig().getImmutableMaxAge().toSeconds() + ", immutable";
+    }
+
+    @SneakyThrows
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        final HttpServletRequest request = ctx.req;
+        final String method = request.getMethod();
+        final boolean head = "HEAD".equals(method);
+        // Range 请求交给 StaticResourceFilter 处理
+        if (!staticAssets.isEnable() || !(head || "GET".equals(method)) || request.getHeader("Range") != null) {
+            ctx.next();
+            return;
+        }
+        final StaticAssets.Asset asset = staticAssets.find(request.getRequestURI().substring(StringUtils.length(request.getContextPath())));
+        if (asset == null) {
+            ctx.next();
+            return;
+        }
+        final HttpServletResponse response = ctx.res;
+        final boolean gzip = asset.getGzip() != null && acceptsGzip(request.getHeader("Accept-Encoding"));
+        final StaticAssets.Body body = gzip ? asset.getGzip() : asset.getIdentity();
+        response.setHeader("ETag", body.getEtag());
+        response.setDateHeader("Last-Modified", asset.getLastModified());
+        response.setHeader("Cache-Control", asset.isImmutable() ? immutableCacheControl : "no-cache");
+        if (asset.getGzip() != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (notModified(request, body.getEtag(), asset.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(asset.getContentType());
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLengthLong(body.getSize());
+        if (!head) {
+            write(request, response, body);
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, StaticAssets.Body body) throws Exception {
+        if (body.getBytes() != null) {
+            response.getOutputStream().write(body.getBytes());
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(TOMCAT_SENDFILE_SUPPORT))) {
+            request.setAttribute(TOMCAT_SENDFILE_FILENAME, body.getFile().toString());
+            request.setAttribute(TOMCAT_SENDFILE_START, 0L);
+            request.setAttribute(TOMCAT_SENDFILE_END, body.getSize());
+            return;
+        }
+        final ServletOutputStream out = response.getOutputStream();
+        if (staticAssets.getConfig().isMmap()) {
+            final ByteBuffer buffer = body.getMapped().duplicate();
+            final Method sendContent = SEND_CONTENT.get(out.getClass());
+            if (sendContent != null) {
+                sendContent.invoke(out, buffer);
+                return;
+            }
+            final WritableByteChannel channel = Channels.newChannel(out);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(body.getFile(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < body.getSize()) {
+                position += channel.transferTo(position, body.getSize() - position, target);
+            }
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String item : StringUtils.split(ifNoneMatch, ',')) {
+                String value = item.trim();
+                if ("*".equals(value) || value.equals(etag) || StringUtils.removeStart(value, "W/").equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+        for (String item : StringUtils.split(acceptEncoding, ',')) {
+            String[] parts = StringUtils.split(item, ';');
+            String coding = parts[0].trim();
+            if (!"gzip".equalsIgnoreCase(coding) && !"*".equals(coding)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = StringUtils.deleteWhitespace(parts[i]);
+                if (param.startsWith("q=") && NumberUtils.toDouble(param.substring(2), 1) <= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
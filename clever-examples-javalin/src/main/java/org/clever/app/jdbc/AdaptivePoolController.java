@@ -0,0 +1,213 @@
+package org.clever.app.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.config.AdaptivePoolConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.metrics.HikariPoolMetrics;
+import org.clever.core.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 根据负载调整Hikari连接池的 maximum-pool-size
+ * <pre>
+ * 每个采样周期:
+ * 1. 根据 HikariPoolMetrics 计算到达率 λ(每秒归还连接的次数) 和平均占用时间 W
+ * 2. 所需连接数 = max(λ * W / 目标利用率, 当前使用中的连接 + 等待连接的线程)  (Little's law)
+ * 3. 获取连接的平均等待时间超过 acquire-threshold 或者出现等待线程时，至少扩大50%
+ * 4. 扩大立即生效；连续 shrink-delay 次都需要缩小时才缩小，每次最多缩小 max-shrink-ratio
+ * 5. 结果限制在 [min-size, max-size] 之间，max-size 默认是数据源配置的 maximum-pool-size
+ * </pre>
+ * 调整结果通过 AppMetrics 导出(jdbc.adaptive-pool.数据源名称)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:10 <br/>
+ */
+@Slf4j
+public class AdaptivePoolController implements AutoCloseable {
+    public static final String METRICS_PREFIX = "jdbc.adaptive-pool.";
+
+    /**
+     * 启动后台线程(只处理已经注册了 HikariPoolMetrics 的数据源)
+     *
+     * @param dataSources 数据源名称 -> HikariDataSource
+     */
+    public static AdaptivePoolController start(AdaptivePoolConfig config, Map<String, HikariDataSource> dataSources) {
+        return new AdaptivePoolController(config, dataSources);
+    }
+
+    private final AdaptivePoolConfig config;
+    private final List<PoolState> pools = new ArrayList<>();
+    private final ScheduledExecutorService executor;
+
+    private AdaptivePoolController(AdaptivePoolConfig config, Map<String, HikariDataSource> dataSources) {
+        Assert.isTrue(config.getTargetUtilization() > 0 && config.getTargetUtilization() <= 1, "targetUtilization 必须在 (0, 1] 之间");
+        Assert.isTrue(config.getInterval().toMillis() > 0, "interval 必须大于0");
+        this.config = config;
+        dataSources.forEach((name, dataSource) -> {
+            HikariPoolMetrics.Pool metrics = HikariPoolMetrics.getPool(name);
+            if (metrics == null) {
+                log.warn("数据源没有注册 HikariPoolMetrics，不调整连接池大小: {}", name);
+                return;
+            }
+            AdaptivePoolConfig.Bounds bounds = config.getPools().get(name);
+            int minSize = bounds != null && bounds.getMinSize() > 0 ? bounds.getMinSize() : config.getMinSize();
+            int maxSize = bounds != null && bounds.getMaxSize() > 0 ? bounds.getMaxSize() : config.getMaxSize();
+            if (maxSize <= 0) {
+                maxSize = dataSource.getMaximumPoolSize();
+            }
+            minSize = Math.max(1, Math.min(minSize, maxSize));
+            PoolState state = new PoolState(name, dataSource.getHikariConfigMXBean(), metrics, minSize, maxSize, dataSource.getMinimumIdle());
+            pools.add(state);
+            AppMetrics.register(METRICS_PREFIX + name, state::metrics);
+            log.info("连接池大小自适应: {} [{}, {}]", name, minSize, maxSize);
+        });
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "adaptive-pool-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = config.getInterval().toMillis();
+        this.executor.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        for (PoolState pool : pools) {
+            try {
+                pool.adjust(config);
+            } catch (Throwable e) {
+                log.warn("调整连接池大小失败: {}", pool.name, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (PoolState pool : pools) {
+            AppMetrics.unregister(METRICS_PREFIX + pool.name);
+        }
+    }
+
+    private static final class PoolState {
+        private final String name;
+        private final HikariConfigMXBean poolConfig;
+        private final HikariPoolMetrics.Pool metrics;
+        private final int minSize;
+        private final int maxSize;
+        /**
+         * 数据源配置的 minimum-idle
+         */
+        private final int minimumIdle;
+        private long lastAcquireCount;
+        private long lastAcquireMicros;
+        private long lastUsageCount;
+        private long lastUsageMillis;
+        private long lastTime = System.nanoTime();
+        private int shrinkVotes;
+        private volatile long adjustments;
+        private volatile double arrivalRate;
+        private volatile double holdMillis;
+        private volatile double acquireMicros;
+        private volatile int required;
+        private volatile int lastDecision;
+
+        private PoolState(String name, HikariConfigMXBean poolConfig, HikariPoolMetrics.Pool metrics, int minSize, int maxSize, int minimumIdle) {
+            this.name = name;
+            this.poolConfig = poolConfig;
+            this.metrics = metrics;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.minimumIdle = minimumIdle;
+            this.lastAcquireCount = metrics.getAcquireCount().sum();
+            this.lastAcquireMicros = metrics.getAcquireTotalMicros().sum();
+            this.lastUsageCount = metrics.getUsageCount().sum();
+            this.lastUsageMillis = metrics.getUsageTotalMillis().sum();
+        }
+
+        private void adjust(AdaptivePoolConfig config) {
+            final long now = System.nanoTime();
+            final long acquireCount = metrics.getAcquireCount().sum();
+            final long acquireTotalMicros = metrics.getAcquireTotalMicros().sum();
+            final long usageCount = metrics.getUsageCount().sum();
+            final long usageMillis = metrics.getUsageTotalMillis().sum();
+            final double seconds = Math.max((now - lastTime) / 1_000_000_000.0, 0.001);
+            final long count = usageCount - lastUsageCount;
+            arrivalRate = count / seconds;
+            holdMillis = count == 0 ? 0 : (double) (usageMillis - lastUsageMillis) / count;
+            final long acquires = acquireCount - lastAcquireCount;
+            acquireMicros = acquires == 0 ? 0 : (double) (acquireTotalMicros - lastAcquireMicros) / acquires;
+            lastTime = now;
+            lastAcquireCount = acquireCount;
+            lastAcquireMicros = acquireTotalMicros;
+            lastUsageCount = usageCount;
+            lastUsageMillis = usageMillis;
+            // Little's law: 平均并发连接数 = 到达率 * 平均占用时间
+            final double concurrency = arrivalRate * holdMillis / 1000.0;
+            final int inUse = metrics.getActive() + metrics.getPending();
+            int target = Math.max((int) Math.ceil(concurrency / config.getTargetUtilization()), inUse);
+            final int current = poolConfig.getMaximumPoolSize();
+            final boolean starving = metrics.getPending() > 0 || acquireMicros > config.getAcquireThreshold().toNanos() / 1000.0;
+            if (starving) {
+                target = Math.max(target, (int) Math.ceil(current * 1.5));
+            }
+            target = Math.max(minSize, Math.min(maxSize, target));
+            required = target;
+            if (target > current) {
+                shrinkVotes = 0;
+                apply(current, target);
+                lastDecision = 1;
+            } else if (target < current && ++shrinkVotes >= config.getShrinkDelay()) {
+                shrinkVotes = 0;
+                int step = Math.max(1, (int) (current * config.getMaxShrinkRatio()));
+                apply(current, Math.max(target, current - step));
+                lastDecision = -1;
+            } else {
+                if (target >= current) {
+                    shrinkVotes = 0;
+                }
+                lastDecision = 0;
+            }
+        }
+
+        private void apply(int current, int size) {
+            if (size == current) {
+                return;
+            }
+            // minimum-idle 不能大于 maximum-pool-size
+            int minIdle = Math.min(minimumIdle, size);
+            if (size < current) {
+                poolConfig.setMinimumIdle(minIdle);
+                poolConfig.setMaximumPoolSize(size);
+            } else {
+                poolConfig.setMaximumPoolSize(size);
+                poolConfig.setMinimumIdle(minIdle);
+            }
+            adjustments++;
+            log.info("调整连接池大小: {} {} -> {} (到达率={}/s, 平均占用={}ms, 使用中={})",
+                name, current, size, String.format("%.1f", arrivalRate), String.format("%.1f", holdMillis), metrics.getActive() + metrics.getPending());
+        }
+
+        private Map<String, Number> metrics() {
+            Map<String, Number> metrics = new LinkedHashMap<>();
+            metrics.put("maximumPoolSize", poolConfig.getMaximumPoolSize());
+            metrics.put("required", required);
+            metrics.put("minSize", minSize);
+            metrics.put("maxSize", maxSize);
+            metrics.put("arrivalRate", arrivalRate);
+            metrics.put("holdMillis", holdMillis);
+            metrics.put("acquireMicros", acquireMicros);
+            metrics.put("lastDecision", lastDecision);
+            metrics.put("adjustments", adjustments);
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package org.clever.app.jdbc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * 按列存储的查询结果(代替 List&lt;LinkedHashMap&gt;)
+ * <pre>
+ * 1. 所有行共享一份列名索引，每行数据不再单独创建 Map 和 Entry 对象
+ * 2. Integer、Long、Double 类型的列使用基本类型数组存储(不装箱)
+ * 3. 实现了 List&lt;Map&lt;String, Object&gt;&gt; 接口，兼容原有代码，行数据可以修改已有列的值，但是不能增加或删除列
+ * 4. Jackson序列化时直接按列输出，不会遍历 Map
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 17:30 <br/>
+ */
+@JsonSerialize(using = ColumnarRows.Serializer.class)
+public class ColumnarRows extends AbstractList<Map<String, Object>> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 列名
+     */
+    private final String[] columns;
+    /**
+     * 列名 -> 列序号(列名重复时使用最后一列)
+     */
+    private final Map<String, Integer> columnIndex;
+    /**
+     * 列数据
+     */
+    private final Column[] data;
+    private int size;
+    private int capacity;
+
+    /**
+     * @param columns 列名
+     * @param types   列数据类型(Integer.class、Long.class、Double.class 使用基本类型存储，其它类型传 Object.class)
+     */
+    public ColumnarRows(String[] columns, Class<?>[] types) {
+        Assert.notNull(columns, "columns 不能为 null");
+        Assert.isTrue(types != null && types.length == columns.length, "types 与 columns 数量不一致");
+        this.columns = columns;
+        this.columnIndex = new HashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+        this.capacity = INITIAL_CAPACITY;
+        this.data = new Column[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            data[i] = newColumn(types[i], capacity);
+        }
+    }
+
+    /**
+     * 查询多条数据(返回按列存储的结果)
+     *
+     * @param jdbc     数据源
+     * @param sql      sql语句(支持命名参数)
+     * @param paramMap 参数
+     */
+    public static ColumnarRows queryMany(Jdbc jdbc, String sql, Map<String, ?> paramMap) {
+        final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, sql, paramMap);
+        final ResultSetExtractor<ColumnarRows> extractor = ColumnarRows::extract;
+        return jdbc.getJdbcTemplate().getJdbcTemplate().query(preparedSql.getSql(), extractor, preparedSql.getArgs());
+    }
+
+    /**
+     * 读取 ResultSet 的所有数据
+     */
+    public static ColumnarRows extract(ResultSet rs) throws SQLException {
+        return extract(rs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 读取 ResultSet 的数据，最多读取 maxRows 行(ResultSet 剩余的数据可以继续读取)
+     */
+    public static ColumnarRows extract(ResultSet rs, int maxRows) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] columns = JdbcStreams.getColumnNames(metaData);
+        Class<?>[] types = new Class<?>[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            types[i] = storageType(metaData.getColumnClassName(i + 1));
+        }
+        ColumnarRows rows = new ColumnarRows(columns, types);
+        while (rows.size < maxRows && rs.next()) {
+            rows.read(rs);
+        }
+        rows.trimToSize();
+        return rows;
+    }
+
+    /**
+     * 读取 ResultSet 当前行的数据
+     */
+    public void read(ResultSet rs) throws SQLException {
+        ensureCapacity(size + 1);
+        for (int i = 0; i < data.length; i++) {
+            data[i].read(rs, i + 1, size);
+        }
+        size++;
+    }
+
+    /**
+     * 列名
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    /**
+     * 读取单元格数据
+     */
+    public Object getValue(int row, String column) {
+        Objects.checkIndex(row, size);
+        Integer col = columnIndex.get(column);
+        return col == null ? null : data[col].get(row);
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        Objects.checkIndex(index, size);
+        return new Row(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 释放多余的存储空间
+     */
+    public void trimToSize() {
+        if (capacity > size) {
+            capacity = Math.max(size, 1);
+            for (Column column : data) {
+                column.resize(capacity);
+            }
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            capacity = Math.max(minCapacity, capacity + (capacity >> 1));
+            for (Column column : data) {
+                column.resize(capacity);
+            }
+        }
+    }
+
+    private boolean isVisible(int col) {
+        return columnIndex.get(columns[col]) == col;
+    }
+
+    private Object setValue(int row, int col, Object value) {
+        Object old = data[col].get(row);
+        if (!data[col].set(row, value)) {
+            // 类型不匹配，转换成 Object 存储
+            ObjectColumn column = new ObjectColumn(capacity);
+            for (int i = 0; i < size; i++) {
+                column.set(i, data[col].get(i));
+            }
+            column.set(row, value);
+            data[col] = column;
+        }
+        return old;
+    }
+
+    private static Class<?> storageType(String columnClassName) {
+        if (Integer.class.getName().equals(columnClassName)) {
+            return Integer.class;
+        }
+        if (Long.class.getName().equals(columnClassName)) {
+            return Long.class;
+        }
+        if (Double.class.getName().equals(columnClassName)) {
+            return Double.class;
+        }
+        return Object.class;
+    }
+
+    private static Column newColumn(Class<?> type, int capacity) {
+        if (type == Integer.class || type == Long.class) {
+            return new LongColumn(type == Integer.class, capacity);
+        }
+        if (type == Double.class) {
+            return new DoubleColumn(capacity);
+        }
+        return new ObjectColumn(capacity);
+    }
+
+    /**
+     * 一行数据(只是数据的视图，不单独存储数据)
+     */
+    private final class Row extends AbstractMap<String, Object> {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer col = columnIndex.get(key);
+            return col == null ? null : data[col].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Integer col = columnIndex.get(key);
+            if (col == null) {
+                throw new UnsupportedOperationException("不能增加列: " + key);
+            }
+            return setValue(row, col, value);
+        }
+
+        @Override
+        public int size() {
+            return columnIndex.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next = nextVisible(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < columns.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= columns.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int col = next;
+                            next = nextVisible(col + 1);
+                            return new RowEntry(row, col);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnIndex.size();
+                }
+            };
+        }
+
+        private int nextVisible(int from) {
+            int col = from;
+            while (col < columns.length && !isVisible(col)) {
+                col++;
+            }
+            return col;
+        }
+    }
+
+    private final class RowEntry implements Map.Entry<String, Object> {
+        private final int row;
+        private final int col;
+
+        private RowEntry(int row, int col) {
+            this.row = row;
+            this.col = col;
+        }
+
+        @Override
+        public String getKey() {
+            return columns[col];
+        }
+
+        @Override
+        public Object getValue() {
+            return data[col].get(row);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return ColumnarRows.this.setValue(row, col, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    private abstract static class Column {
+        abstract Object get(int row);
+
+        /**
+         * @return 数据类型不匹配返回 false
+         */
+        abstract boolean set(int row, Object value);
+
+        abstract void read(ResultSet rs, int col, int row) throws SQLException;
+
+        abstract void write(JsonGenerator gen, int row, SerializerProvider provider) throws IOException;
+
+        abstract void resize(int capacity);
+    }
+
+    private static final class ObjectColumn extends Column {
+        private Object[] values;
+
+        private ObjectColumn(int capacity) {
+            values = new Object[capacity];
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            values[row] = value;
+            return true;
+        }
+
+        @Override
+        void read(ResultSet rs, int col, int row) throws SQLException {
+            values[row] = JdbcUtils.getResultSetValue(rs, col);
+        }
+
+        @Override
+        void write(JsonGenerator gen, int row, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeValue(values[row], gen);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final boolean isInt;
+        private long[] values;
+        private final BitSet nulls = new BitSet();
+
+        private LongColumn(boolean isInt, int capacity) {
+            this.isInt = isInt;
+            values = new long[capacity];
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            return isInt ? Integer.valueOf((int) values[row]) : Long.valueOf(values[row]);
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+                return true;
+            }
+            if (isInt ? value instanceof Integer : value instanceof Long) {
+                values[row] = ((Number) value).longValue();
+                nulls.clear(row);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void read(ResultSet rs, int col, int row) throws SQLException {
+            values[row] = rs.getLong(col);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void write(JsonGenerator gen, int row, SerializerProvider provider) throws IOException {
+            if (nulls.get(row)) {
+                gen.writeNull();
+            } else if (isInt) {
+                gen.writeNumber((int) values[row]);
+            } else {
+                gen.writeNumber(values[row]);
+            }
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values;
+        private final BitSet nulls = new BitSet();
+
+        private DoubleColumn(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : Double.valueOf(values[row]);
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+                return true;
+            }
+            if (value instanceof Double) {
+                values[row] = (Double) value;
+                nulls.clear(row);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void read(ResultSet rs, int col, int row) throws SQLException {
+            values[row] = rs.getDouble(col);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void write(JsonGenerator gen, int row, SerializerProvider provider) throws IOException {
+            if (nulls.get(row)) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(values[row]);
+            }
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * 直接按列输出JSON
+     */
+    public static class Serializer extends StdSerializer<ColumnarRows> {
+        public Serializer() {
+            super(ColumnarRows.class);
+        }
+
+        @Override
+        public void serialize(ColumnarRows rows, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            final int columnCount = rows.columns.length;
+            final boolean[] visible = new boolean[columnCount];
+            for (int col = 0; col < columnCount; col++) {
+                visible[col] = rows.isVisible(col);
+            }
+            gen.writeStartArray(rows, rows.size);
+            for (int row = 0; row < rows.size; row++) {
+                gen.writeStartObject();
+                for (int col = 0; col < columnCount; col++) {
+                    if (visible[col]) {
+                        gen.writeFieldName(rows.columns[col]);
+                        rows.data[col].write(gen, row, provider);
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
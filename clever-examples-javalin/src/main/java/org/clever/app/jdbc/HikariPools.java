@@ -0,0 +1,65 @@
+package org.clever.app.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.clever.data.jdbc.DaoFactory;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 获取 jdbc.data-source 中配置的数据源对应的 HikariDataSource(需要在 JdbcBootstrap.init 之后调用)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+@Slf4j
+public abstract class HikariPools {
+    /**
+     * 数据源名称 -> HikariDataSource(不是Hikari连接池的数据源会被忽略)
+     */
+    public static Map<String, HikariDataSource> getAll(Environment environment) {
+        final Binder binder = Binder.get(environment);
+        final Map<String, HikariDataSource> result = new LinkedHashMap<>();
+        if (!binder.bind("jdbc.enable", Boolean.class).orElse(true)) {
+            return result;
+        }
+        final Map<String, Object> dataSources = binder.bind("jdbc.data-source", Bindable.mapOf(String.class, Object.class))
+            .orElse(Collections.emptyMap());
+        for (String name : dataSources.keySet()) {
+            try {
+                HikariDataSource dataSource = unwrap(DaoFactory.getJdbc(name));
+                if (dataSource != null) {
+                    result.put(name, dataSource);
+                }
+            } catch (Exception e) {
+                log.warn("获取数据源失败: {}", name, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取 Jdbc 使用的 HikariDataSource(会穿透p6spy等包装)，不是Hikari连接池时返回 null
+     */
+    public static HikariDataSource unwrap(Jdbc jdbc) throws SQLException {
+        final DataSource dataSource = jdbc.getJdbcTemplate().getJdbcTemplate().getDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            return hikariDataSource;
+        }
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.unwrap(HikariDataSource.class);
+        }
+        return null;
+    }
+}
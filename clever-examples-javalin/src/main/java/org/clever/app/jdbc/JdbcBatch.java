@@ -0,0 +1,151 @@
+package org.clever.app.jdbc;
+
+import com.querydsl.sql.RelationalPath;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.cache.QueryCache;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.DaoFactory;
+import org.clever.data.jdbc.Jdbc;
+import org.clever.data.jdbc.QueryDSL;
+
+import java.sql.Statement;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 批量新增数据(JDBC batch)
+ * <pre>
+ * 1. 按字段集合分组，每组生成一条 insert 语句，分批执行 addBatch/executeBatch
+ * 2. 配合驱动参数把批量语句改写成多行 VALUES: mysql rewriteBatchedStatements=true、postgresql reWriteBatchedInserts=true
+ * 3. 每批数据一次 executeBatch，p6spy(jdbc.metrics)按一条语句记录每批数据的耗时
+ * 4. 表名、字段名直接拼接到SQL中，只允许字母、数字、下划线和$(表名可以带schema)
+ * 5. 新增数据后使表相关的查询缓存(QueryCache)失效
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 18:20 <br/>
+ */
+@Slf4j
+public abstract class JdbcBatch {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+    private static final Pattern TABLE_NAME = Pattern.compile("([A-Za-z_][A-Za-z0-9_$]*\\.)?[A-Za-z_][A-Za-z0-9_$]*");
+
+    /**
+     * 批量新增数据
+     *
+     * @param jdbc      数据源
+     * @param tableName 表名
+     * @param rows      数据(字段名 -> 字段值)
+     * @param chunkSize 每批数据量
+     * @return 新增的数据量
+     */
+    public static int insertTables(Jdbc jdbc, String tableName, Collection<? extends Map<String, ?>> rows, int chunkSize) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        Assert.isTrue(StringUtils.isNotBlank(tableName), "tableName 不能为空");
+        Assert.isTrue(TABLE_NAME.matcher(tableName).matches(), "表名不合法: " + tableName);
+        Assert.isTrue(chunkSize > 0, "chunkSize 必须大于0");
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        // 按字段集合分组
+        Map<List<String>, List<Map<String, ?>>> groups = new LinkedHashMap<>();
+        for (Map<String, ?> row : rows) {
+            List<String> columns = new ArrayList<>(new TreeSet<>(row.keySet()));
+            groups.computeIfAbsent(columns, key -> {
+                for (String column : key) {
+                    Assert.isTrue(column != null && COLUMN_NAME.matcher(column).matches(), "字段名不合法: " + column);
+                }
+                return new ArrayList<>();
+            }).add(row);
+        }
+        int total = 0;
+        for (Map.Entry<List<String>, List<Map<String, ?>>> group : groups.entrySet()) {
+            final List<String> columns = group.getKey();
+            final String sql = insertSql(tableName, columns);
+            final List<Map<String, ?>> groupRows = group.getValue();
+            for (int from = 0; from < groupRows.size(); from += chunkSize) {
+                List<Map<String, ?>> chunk = groupRows.subList(from, Math.min(from + chunkSize, groupRows.size()));
+                List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+                for (Map<String, ?> row : chunk) {
+                    Object[] args = new Object[columns.size()];
+                    for (int i = 0; i < args.length; i++) {
+                        args[i] = row.get(columns.get(i));
+                    }
+                    batchArgs.add(args);
+                }
+                final long startTime = System.nanoTime();
+                int[] counts = jdbc.getJdbcTemplate().getJdbcTemplate().batchUpdate(sql, batchArgs);
+                total += sum(counts);
+                if (log.isDebugEnabled()) {
+                    log.debug("批量新增 | table={} | rows={} | cost={}ms", tableName, chunk.size(), (System.nanoTime() - startTime) / 1_000_000);
+                }
+            }
+        }
+        QueryCache.invalidate(jdbc, tableName);
+        return total;
+    }
+
+    /**
+     * 批量新增数据(每批 DEFAULT_CHUNK_SIZE 条)
+     */
+    public static int insertTables(Jdbc jdbc, String tableName, Collection<? extends Map<String, ?>> rows) {
+        return insertTables(jdbc, tableName, rows, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 使用QueryDSL批量新增数据(SQLInsertClause.addBatch)
+     *
+     * @param jdbc      数据源
+     * @param path      表
+     * @param beans     数据
+     * @param chunkSize 每批数据量
+     * @return 新增的数据量
+     */
+    public static long insertBeans(Jdbc jdbc, RelationalPath<?> path, Collection<?> beans, int chunkSize) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        Assert.notNull(path, "path 不能为 null");
+        Assert.isTrue(chunkSize > 0, "chunkSize 必须大于0");
+        if (beans == null || beans.isEmpty()) {
+            return 0;
+        }
+        final QueryDSL queryDSL = DaoFactory.getQueryDSL(jdbc.getDataSourceName());
+        long total = 0;
+        Iterator<?> iterator = beans.iterator();
+        while (iterator.hasNext()) {
+            var insert = queryDSL.insert(path);
+            for (int i = 0; i < chunkSize && iterator.hasNext(); i++) {
+                insert.populate(iterator.next()).addBatch();
+            }
+            total += insert.execute();
+        }
+        QueryCache.invalidate(jdbc, path.getTableName());
+        return total;
+    }
+
+    private static String insertSql(String tableName, List<String> columns) {
+        StringBuilder sql = new StringBuilder(32 + tableName.length() + columns.size() * 24);
+        sql.append("insert into ").append(tableName).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columns.get(i));
+        }
+        sql.append(") values (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.append(')').toString();
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // 驱动改写批量语句后返回 SUCCESS_NO_INFO
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+}
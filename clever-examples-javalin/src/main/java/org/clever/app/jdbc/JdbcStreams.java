@@ -0,0 +1,72 @@
+package org.clever.app.jdbc;
+
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 流式读取查询结果(使用JDBC fetchSize，数据不会全部加载到内存)
+ * <pre>
+ * 1. postgresql: 需要在事务中执行(autocommit=false)才会使用游标读取
+ * 2. mysql: 使用 fetchSize=Integer.MIN_VALUE 逐行读取
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 16:40 <br/>
+ */
+public abstract class JdbcStreams {
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * 流式读取查询结果，每一行数据回调一次 rowHandler
+     *
+     * @param jdbc       数据源
+     * @param sql        sql语句(支持命名参数)
+     * @param paramMap   参数
+     * @param fetchSize  JDBC fetchSize
+     * @param rowHandler 行数据处理
+     */
+    public static void query(Jdbc jdbc, String sql, Map<String, ?> paramMap, int fetchSize, RowCallbackHandler rowHandler) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        Assert.notNull(rowHandler, "rowHandler 不能为 null");
+        final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, sql, paramMap);
+        jdbc.getJdbcTemplate().getJdbcTemplate().query(con -> {
+            PreparedStatement ps = con.prepareStatement(preparedSql.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(isMySql(con) ? Integer.MIN_VALUE : fetchSize);
+            new ArgumentPreparedStatementSetter(preparedSql.getArgs()).setValues(ps);
+            return ps;
+        }, rowHandler);
+    }
+
+    /**
+     * 流式读取查询结果，每一行数据回调一次 rowHandler
+     */
+    public static void query(Jdbc jdbc, String sql, Map<String, ?> paramMap, RowCallbackHandler rowHandler) {
+        query(jdbc, sql, paramMap, DEFAULT_FETCH_SIZE, rowHandler);
+    }
+
+    /**
+     * 获取查询结果的列名
+     */
+    public static String[] getColumnNames(ResultSetMetaData metaData) throws SQLException {
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+        }
+        return columns;
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String productName = connection.getMetaData().getDatabaseProductName();
+        return productName != null && productName.toLowerCase().contains("mysql");
+    }
+}
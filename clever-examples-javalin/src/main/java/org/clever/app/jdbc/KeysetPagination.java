@@ -0,0 +1,362 @@
+package org.clever.app.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.cache.QueryCache;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * 键集分页(seek method)，用上一页最后一行的排序字段值作为查询条件代替 OFFSET，第10000页与第1页的查询代价相同
+ * <pre>{@code
+ * KeysetPagination pagination = KeysetPagination.of("select * from task_job_log where job_id=:jobId")
+ *     .desc("fire_time")
+ *     .desc("id")
+ *     .count(KeysetPagination.CountMode.CACHED, "task_job_log");
+ * // cursor 为 null 时查询第一页，之后使用上一页返回的 nextCursor
+ * KeysetPagination.Page page = pagination.query(jdbc, params, cursor, 20);
+ * }</pre>
+ * <pre>
+ * 1. 排序字段必须出现在查询结果中且不能为 null，最后一个排序字段必须唯一(一般使用主键)
+ * 2. mysql、postgresql 排序方向一致时使用行值比较: (a, b) &lt; (?, ?)
+ * 3. oracle 或者排序方向不一致时使用展开形式: a &lt;= ? and (a &lt; ? or (a = ? and b &lt; ?))，oracle 使用 fetch first n rows only
+ * 4. 总数可选: 不查询、精确查询、缓存(QueryCache，表数据修改后失效)、使用执行计划估算
+ * </pre>
+ * 需要建立与排序字段一致的索引(例如: (job_id, fire_time, id))才能避免排序和扫描
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 02:50 <br/>
+ */
+public class KeysetPagination {
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ConcurrentMap<String, Dialect> DIALECTS = new ConcurrentHashMap<>();
+    private static final String TABLE_ALIAS = "keyset_t";
+    private static final String LIMIT_PARAM = "keyset_limit";
+    private static final String KEY_PARAM = "keyset_";
+
+    /**
+     * @param sql 查询sql(支持命名参数，不能包含 order by)
+     */
+    public static KeysetPagination of(String sql) {
+        Assert.notBlank(sql, "sql 不能为空");
+        return new KeysetPagination(sql);
+    }
+
+    private final String sql;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+    private CountMode countMode = CountMode.NONE;
+    private String[] tables = new String[0];
+    /**
+     * 数据库类型 -> 第一页的sql
+     */
+    private final ConcurrentMap<Dialect, String> firstPageSqls = new ConcurrentHashMap<>();
+    /**
+     * 数据库类型 -> 使用 seek 条件的分页sql
+     */
+    private final ConcurrentMap<Dialect, String> seekPageSqls = new ConcurrentHashMap<>();
+    private volatile int signature;
+
+    private KeysetPagination(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 增加升序排序字段
+     */
+    public KeysetPagination asc(String column) {
+        return orderBy(column, false);
+    }
+
+    /**
+     * 增加降序排序字段
+     */
+    public KeysetPagination desc(String column) {
+        return orderBy(column, true);
+    }
+
+    /**
+     * 查询总数的方式
+     *
+     * @param countMode 查询总数的方式
+     * @param tables    查询涉及的表(CACHED、ESTIMATED 使用缓存时需要，这些表的数据修改后缓存失效)
+     */
+    public KeysetPagination count(CountMode countMode, String... tables) {
+        Assert.notNull(countMode, "countMode 不能为 null");
+        this.countMode = countMode;
+        this.tables = tables == null ? new String[0] : tables;
+        Assert.isTrue(countMode != CountMode.CACHED || this.tables.length > 0, "CACHED 模式需要指定查询涉及的表");
+        return this;
+    }
+
+    private KeysetPagination orderBy(String column, boolean desc) {
+        Assert.isTrue(column != null && COLUMN_NAME.matcher(column).matches(), "排序字段只能是列名: " + column);
+        Assert.isTrue(firstPageSqls.isEmpty() && seekPageSqls.isEmpty(), "已经开始查询，不能再修改排序字段");
+        columns.add(column);
+        descending.add(desc);
+        signature = (sql + '|' + columns + '|' + descending).hashCode();
+        return this;
+    }
+
+    /**
+     * 查询一页数据
+     *
+     * @param jdbc     数据源
+     * @param paramMap 参数
+     * @param cursor   上一页返回的 nextCursor(为空时查询第一页)
+     * @param pageSize 每页大小
+     */
+    public Page query(Jdbc jdbc, Map<String, ?> paramMap, String cursor, int pageSize) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        Assert.isTrue(!columns.isEmpty(), "需要至少一个排序字段");
+        Assert.isTrue(pageSize > 0, "pageSize 必须大于0");
+        final JdbcTemplate jdbcTemplate = jdbc.getJdbcTemplate().getJdbcTemplate();
+        final Dialect dialect = dialect(jdbc, jdbcTemplate);
+        final Object[] lastKeys = StringUtils.isBlank(cursor) ? null : KeysetCursor.decode(cursor, signature, columns.size());
+        // 查询数据
+        final Map<String, Object> params = paramMap == null ? new LinkedHashMap<>() : new LinkedHashMap<>(paramMap);
+        if (lastKeys != null) {
+            for (int i = 0; i < lastKeys.length; i++) {
+                params.put(KEY_PARAM + i, lastKeys[i]);
+            }
+        }
+        params.put(LIMIT_PARAM, pageSize + 1);
+        final String pageSql = lastKeys == null
+            ? firstPageSqls.computeIfAbsent(dialect, key -> buildSql(key, false))
+            : seekPageSqls.computeIfAbsent(dialect, key -> buildSql(key, true));
+        final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, pageSql, params);
+        final boolean[] hasMore = new boolean[1];
+        final ResultSetExtractor<ColumnarRows> extractor = rs -> {
+            ColumnarRows rows = ColumnarRows.extract(rs, pageSize);
+            hasMore[0] = rs.next();
+            return rows;
+        };
+        final ColumnarRows records = jdbcTemplate.query(preparedSql.getSql(), extractor, preparedSql.getArgs());
+        // 下一页的游标
+        final Page page = new Page();
+        page.setRecords(records);
+        page.setHasMore(hasMore[0]);
+        if (hasMore[0] && records != null && !records.isEmpty()) {
+            page.setNextCursor(KeysetCursor.encode(signature, lastKeys(records)));
+        }
+        // 只在第一页查询总数
+        if (lastKeys == null) {
+            page.setTotal(count(jdbc, jdbcTemplate, dialect, paramMap));
+        }
+        return page;
+    }
+
+    private Object[] lastKeys(ColumnarRows records) {
+        final int lastRow = records.size() - 1;
+        final List<String> resultColumns = records.getColumns();
+        final Object[] keys = new Object[columns.size()];
+        for (int i = 0; i < keys.length; i++) {
+            final String column = columns.get(i);
+            final String resultColumn = resultColumns.stream().filter(column::equalsIgnoreCase).findFirst().orElse(null);
+            Assert.notNull(resultColumn, "查询结果中不存在排序字段: " + column);
+            keys[i] = records.getValue(lastRow, resultColumn);
+        }
+        return keys;
+    }
+
+    private Long count(Jdbc jdbc, JdbcTemplate jdbcTemplate, Dialect dialect, Map<String, ?> paramMap) {
+        return switch (countMode) {
+            case NONE -> null;
+            case EXACT -> exactCount(jdbc, jdbcTemplate, paramMap);
+            case CACHED -> cachedCount(jdbc, jdbcTemplate, paramMap);
+            case ESTIMATED -> {
+                Long estimated = estimatedCount(jdbc, jdbcTemplate, dialect, paramMap);
+                if (estimated == null && tables.length > 0) {
+                    estimated = cachedCount(jdbc, jdbcTemplate, paramMap);
+                }
+                yield estimated;
+            }
+        };
+    }
+
+    private Long exactCount(Jdbc jdbc, JdbcTemplate jdbcTemplate, Map<String, ?> paramMap) {
+        final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, countSql(), paramMap);
+        return jdbcTemplate.queryForObject(preparedSql.getSql(), Long.class, preparedSql.getArgs());
+    }
+
+    private Long cachedCount(Jdbc jdbc, JdbcTemplate jdbcTemplate, Map<String, ?> paramMap) {
+        return QueryCache.get(jdbc, countSql(), paramMap, tables, () -> exactCount(jdbc, jdbcTemplate, paramMap));
+    }
+
+    /**
+     * 使用执行计划估算的行数(postgresql、mysql)，不支持时返回 null
+     */
+    private Long estimatedCount(Jdbc jdbc, JdbcTemplate jdbcTemplate, Dialect dialect, Map<String, ?> paramMap) {
+        if (dialect == Dialect.POSTGRESQL) {
+            final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, "explain (format json) " + sql, paramMap);
+            final String plan = jdbcTemplate.queryForObject(preparedSql.getSql(), String.class, preparedSql.getArgs());
+            try {
+                final JsonNode rows = OBJECT_MAPPER.readTree(plan).path(0).path("Plan").path("Plan Rows");
+                return rows.isNumber() ? rows.asLong() : null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        if (dialect == Dialect.MYSQL) {
+            final SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare(jdbc, "explain " + sql, paramMap);
+            return jdbcTemplate.query(preparedSql.getSql(), (ResultSet rs) -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                // 只估算驱动表: rows * filtered%
+                final long rows = rs.getLong("rows");
+                final double filtered = rs.getDouble("filtered");
+                return filtered > 0 ? Math.round(rows * filtered / 100.0) : rows;
+            }, preparedSql.getArgs());
+        }
+        return null;
+    }
+
+    private String countSql() {
+        return "select count(*) from (" + sql + ") " + TABLE_ALIAS;
+    }
+
+    /**
+     * @param seek 是否使用 seek 条件(第一页不需要)
+     */
+    String buildSql(Dialect dialect, boolean seek) {
+        final StringBuilder pageSql = new StringBuilder(sql.length() + 128);
+        pageSql.append("select * from (").append(sql).append(") ").append(TABLE_ALIAS);
+        if (seek) {
+            pageSql.append(" where ").append(seekPredicate(dialect));
+        }
+        pageSql.append(" order by ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                pageSql.append(", ");
+            }
+            pageSql.append(columns.get(i)).append(descending.get(i) ? " desc" : " asc");
+        }
+        if (dialect == Dialect.ORACLE) {
+            pageSql.append(" fetch first :").append(LIMIT_PARAM).append(" rows only");
+        } else {
+            pageSql.append(" limit :").append(LIMIT_PARAM);
+        }
+        return pageSql.toString();
+    }
+
+    private String seekPredicate(Dialect dialect) {
+        final boolean sameDirection = descending.stream().distinct().count() == 1;
+        final StringBuilder predicate = new StringBuilder();
+        if (sameDirection && (dialect == Dialect.MYSQL || dialect == Dialect.POSTGRESQL) && columns.size() > 1) {
+            // 行值比较: (a, b) < (:k0, :k1)
+            predicate.append('(').append(String.join(", ", columns)).append(')');
+            predicate.append(descending.get(0) ? " < (" : " > (");
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    predicate.append(", ");
+                }
+                predicate.append(':').append(KEY_PARAM).append(i);
+            }
+            return predicate.append(')').toString();
+        }
+        // 展开形式: a <= :k0 and (a < :k0 or (a = :k0 and b < :k1) ...)，冗余的 a <= :k0 用于索引范围扫描
+        if (columns.size() > 1) {
+            predicate.append(columns.get(0)).append(descending.get(0) ? " <= :" : " >= :").append(KEY_PARAM).append(0).append(" and (");
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                predicate.append(" or ");
+            }
+            predicate.append('(');
+            for (int j = 0; j < i; j++) {
+                predicate.append(columns.get(j)).append(" = :").append(KEY_PARAM).append(j).append(" and ");
+            }
+            predicate.append(columns.get(i)).append(descending.get(i) ? " < :" : " > :").append(KEY_PARAM).append(i);
+            predicate.append(')');
+        }
+        if (columns.size() > 1) {
+            predicate.append(')');
+        }
+        return predicate.toString();
+    }
+
+    private static Dialect dialect(Jdbc jdbc, JdbcTemplate jdbcTemplate) {
+        return DIALECTS.computeIfAbsent(jdbc.getDataSourceName(), name -> jdbcTemplate.execute((ConnectionCallback<Dialect>) con -> {
+            final String productName = StringUtils.lowerCase(con.getMetaData().getDatabaseProductName());
+            if (productName == null) {
+                return Dialect.OTHER;
+            }
+            if (productName.contains("mysql") || productName.contains("mariadb")) {
+                return Dialect.MYSQL;
+            }
+            if (productName.contains("postgresql")) {
+                return Dialect.POSTGRESQL;
+            }
+            if (productName.contains("oracle")) {
+                return Dialect.ORACLE;
+            }
+            return Dialect.OTHER;
+        }));
+    }
+
+    /**
+     * 查询总数的方式
+     */
+    public enum CountMode {
+        /**
+         * 不查询总数
+         */
+        NONE,
+        /**
+         * 每次查询第一页时执行 count(*)
+         */
+        EXACT,
+        /**
+         * count(*) 的结果使用 QueryCache 缓存，表数据修改后失效
+         */
+        CACHED,
+        /**
+         * 使用执行计划估算(postgresql、mysql)，其它数据库指定了表时退回到 CACHED
+         */
+        ESTIMATED,
+    }
+
+    enum Dialect {
+        MYSQL, POSTGRESQL, ORACLE, OTHER,
+    }
+
+    /**
+     * 一页数据
+     */
+    @Data
+    public static class Page {
+        /**
+         * 当前页的数据
+         */
+        private List<Map<String, Object>> records = Collections.emptyList();
+        /**
+         * 是否还有下一页
+         */
+        private boolean hasMore;
+        /**
+         * 下一页的游标(没有下一页时为 null)
+         */
+        private String nextCursor;
+        /**
+         * 总数(只在第一页返回，CountMode.NONE 时为 null)
+         */
+        private Long total;
+    }
+}
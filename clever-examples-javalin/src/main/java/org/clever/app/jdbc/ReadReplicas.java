@@ -0,0 +1,76 @@
+package org.clever.app.jdbc;
+
+import org.clever.app.config.ReadReplicaConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.DaoFactory;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 只读查询路由到从库(jdbc.read-replica)
+ * <pre>{@code
+ * // 存在读写事务时返回主库，否则返回从库(未配置从库时返回主库)
+ * Jdbc jdbc = ReadReplicas.forRead("mysql");
+ * }</pre>
+ * 当前线程存在读写事务时(@Transactional 且 readOnly=false)始终使用主库，保证能读到事务中已写入的数据
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:50 <br/>
+ */
+public abstract class ReadReplicas {
+    public static final String METRICS_NAME = "jdbc.read-replica";
+
+    private static final LongAdder REPLICA_READS = new LongAdder();
+    private static final LongAdder PRIMARY_READS = new LongAdder();
+    private static volatile ReadReplicaConfig CONFIG = new ReadReplicaConfig();
+
+    /**
+     * 使用配置初始化(应用启动时调用一次)
+     */
+    public static void init(ReadReplicaConfig config) {
+        Assert.notNull(config, "参数 config 不能为 null");
+        CONFIG = config;
+        AppMetrics.register(METRICS_NAME, ReadReplicas::metrics);
+    }
+
+    /**
+     * 获取用于只读查询的数据源
+     *
+     * @param name 主库数据源名称
+     */
+    public static Jdbc forRead(String name) {
+        return DaoFactory.getJdbc(resolve(name));
+    }
+
+    /**
+     * 获取用于只读查询的数据源名称
+     *
+     * @param name 主库数据源名称
+     */
+    public static String resolve(String name) {
+        final ReadReplicaConfig config = CONFIG;
+        final String replica = config.isEnable() ? config.getReplicas().get(name) : null;
+        if (replica == null) {
+            return name;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            PRIMARY_READS.increment();
+            return name;
+        }
+        REPLICA_READS.increment();
+        return replica;
+    }
+
+    private static Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("replicaReads", REPLICA_READS.sum());
+        metrics.put("primaryReads", PRIMARY_READS.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,170 @@
+package org.clever.app.jdbc;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * 把 jdbc.p6spylog 的 ignore-sql(完全匹配) 和 ignore-contains-sql(包含匹配) 编译成一个 Aho–Corasick 自动机，
+ * 每条SQL只需要扫描一遍，不需要逐个调用 equals/contains
+ * <pre>
+ * 1. 忽略大小写，SQL首尾的空白字符不参与匹配
+ * 2. 换行、制表符等空白字符按空格处理
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+public class SqlIgnoreMatcher {
+    private final Node root = new Node(0);
+    private final boolean empty;
+
+    public SqlIgnoreMatcher(Collection<String> ignoreSql, Collection<String> ignoreContainsSql) {
+        boolean empty = true;
+        for (String sql : ignoreSql) {
+            if (StringUtils.isNotBlank(sql)) {
+                add(sql.trim()).exact = true;
+                empty = false;
+            }
+        }
+        for (String sql : ignoreContainsSql) {
+            if (StringUtils.isNotEmpty(sql)) {
+                add(sql).contains = true;
+                empty = false;
+            }
+        }
+        this.empty = empty;
+        buildFailLinks();
+    }
+
+    /**
+     * SQL是否需要忽略
+     */
+    public boolean matches(String sql) {
+        if (empty || sql == null) {
+            return false;
+        }
+        int start = 0;
+        int end = sql.length();
+        while (start < end && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(sql.charAt(end - 1))) {
+            end--;
+        }
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            final char ch = normalize(sql.charAt(i));
+            Node next;
+            while ((next = node.child(ch)) == null && node != root) {
+                node = node.fail;
+            }
+            node = next == null ? root : next;
+            if (node.output) {
+                return true;
+            }
+        }
+        return node.exact && node.depth == end - start;
+    }
+
+    private Node add(String pattern) {
+        Node node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char ch = normalize(pattern.charAt(i));
+            Node next = node.child(ch);
+            if (next == null) {
+                next = new Node(node.depth + 1);
+                node.put(ch, next);
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    /**
+     * 广度优先计算失败指针，output 表示当前节点或者它的某个后缀是 ignore-contains-sql
+     */
+    private void buildFailLinks() {
+        root.fail = root;
+        Deque<Node> queue = new ArrayDeque<>();
+        for (int i = 0; i < root.size; i++) {
+            Node child = root.children[i];
+            child.fail = root;
+            child.output = child.contains;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (int i = 0; i < node.size; i++) {
+                final char ch = node.keys[i];
+                final Node child = node.children[i];
+                Node fail = node.fail;
+                Node target;
+                while ((target = fail.child(ch)) == null && fail != root) {
+                    fail = fail.fail;
+                }
+                child.fail = target == null || target == child ? root : target;
+                child.output = child.contains || child.fail.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static char normalize(char ch) {
+        if (Character.isWhitespace(ch)) {
+            return ' ';
+        }
+        return Character.toLowerCase(ch);
+    }
+
+    private static final class Node {
+        private final int depth;
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private Node fail;
+        private boolean exact;
+        private boolean contains;
+        private boolean output;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+
+        /**
+         * keys 有序，使用二分查找
+         */
+        private Node child(char ch) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char key = keys[mid];
+                if (key < ch) {
+                    low = mid + 1;
+                } else if (key > ch) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        private void put(char ch, Node child) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+                children = Arrays.copyOf(children, Math.max(2, size * 2));
+            }
+            int index = size;
+            while (index > 0 && keys[index - 1] > ch) {
+                keys[index] = keys[index - 1];
+                children[index] = children[index - 1];
+                index--;
+            }
+            keys[index] = ch;
+            children[index] = child;
+            size++;
+        }
+    }
+}
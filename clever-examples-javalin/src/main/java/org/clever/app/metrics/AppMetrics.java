@@ -0,0 +1,51 @@
+package org.clever.app.metrics;
+
+import org.clever.core.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 应用内的指标注册表(各个组件注册自己的指标，由指标接口统一导出)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 20:30 <br/>
+ */
+public abstract class AppMetrics {
+    private static final Map<String, Supplier<Map<String, ? extends Number>>> SOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * 注册指标(相同名称的指标会被覆盖)
+     *
+     * @param name   指标名称，如: jdbc.parse-cache
+     * @param source 读取指标当前值
+     */
+    public static void register(String name, Supplier<Map<String, ? extends Number>> source) {
+        Assert.notBlank(name, "name 不能为空");
+        Assert.notNull(source, "source 不能为 null");
+        SOURCES.put(name, source);
+    }
+
+    /**
+     * 取消注册指标
+     */
+    public static void unregister(String name) {
+        SOURCES.remove(name);
+    }
+
+    /**
+     * 读取所有指标的当前值
+     */
+    public static Map<String, Map<String, ? extends Number>> snapshot() {
+        Map<String, Map<String, ? extends Number>> result = new TreeMap<>();
+        SOURCES.forEach((name, source) -> {
+            Map<String, ? extends Number> values = source.get();
+            result.put(name, values == null ? Collections.emptyMap() : new LinkedHashMap<>(values));
+        });
+        return result;
+    }
+}
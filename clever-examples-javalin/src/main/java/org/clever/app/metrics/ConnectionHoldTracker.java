@@ -0,0 +1,81 @@
+package org.clever.app.metrics;
+
+/**
+ * 统计当前线程(一次请求)占用数据库连接的时间，数据来自 HikariPoolMetrics(连接归还时记录)
+ * <pre>{@code
+ * ConnectionHoldTracker.Scope scope = ConnectionHoldTracker.begin();
+ * try {
+ *     // 处理请求
+ * } finally {
+ *     scope.close();
+ *     long holdMillis = scope.getHoldMillis();
+ * }
+ * }</pre>
+ * 只能统计在当前线程中归还的连接
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:40 <br/>
+ */
+public abstract class ConnectionHoldTracker {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 开始统计(可以嵌套，嵌套的统计数据会累加到外层)
+     */
+    public static Scope begin() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 当前线程归还了一个连接
+     */
+    static void recordUsage(long elapsedBorrowedMillis) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.connections++;
+            scope.holdMillis += elapsedBorrowedMillis;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int connections;
+        private long holdMillis;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * 借出过的连接数量
+         */
+        public int getConnections() {
+            return connections;
+        }
+
+        /**
+         * 占用连接的总时间(毫秒)
+         */
+        public long getHoldMillis() {
+            return holdMillis;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.connections += connections;
+                parent.holdMillis += holdMillis;
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
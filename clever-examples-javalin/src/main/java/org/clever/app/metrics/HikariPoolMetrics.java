@@ -0,0 +1,157 @@
+package org.clever.app.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 通过 Hikari 的 MetricsTrackerFactory 收集连接池指标(获取连接的等待时间、连接占用时间、超时次数、连接数)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+@Slf4j
+public abstract class HikariPoolMetrics {
+    public static final String METRICS_PREFIX = "hikari.";
+
+    private static final Map<String, Pool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * 给数据源设置 MetricsTrackerFactory(数据源已经设置过 MetricsTrackerFactory 时不处理)
+     *
+     * @param name       数据源名称
+     * @param dataSource 连接池
+     */
+    public static void register(String name, HikariDataSource dataSource) {
+        if (dataSource.getMetricsTrackerFactory() != null || dataSource.getMetricRegistry() != null) {
+            log.info("数据源已经配置了连接池指标收集，跳过: {}", name);
+            return;
+        }
+        final Pool pool = new Pool(name);
+        dataSource.setMetricsTrackerFactory(pool);
+        POOLS.put(name, pool);
+        AppMetrics.register(METRICS_PREFIX + name, pool::metrics);
+    }
+
+    /**
+     * 数据源名称 -> 连接池指标
+     */
+    public static Map<String, Pool> getPools() {
+        return Collections.unmodifiableMap(POOLS);
+    }
+
+    public static Pool getPool(String name) {
+        return POOLS.get(name);
+    }
+
+    /**
+     * 一个连接池的指标
+     */
+    @Getter
+    public static final class Pool implements MetricsTrackerFactory, IMetricsTracker {
+        private final String name;
+        /**
+         * 获取连接的等待时间(微秒)
+         */
+        private final WindowedHistogram acquireMicros = new WindowedHistogram();
+        /**
+         * 连接从借出到归还的时间(毫秒)
+         */
+        private final WindowedHistogram usageMillis = new WindowedHistogram();
+        /**
+         * 创建物理连接的时间(毫秒)
+         */
+        private final WindowedHistogram createdMillis = new WindowedHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        /**
+         * 累计获取连接的次数和等待时间(微秒)、归还连接的次数和占用时间(毫秒)，用于计算一段时间内的平均值
+         */
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder acquireTotalMicros = new LongAdder();
+        private final LongAdder usageCount = new LongAdder();
+        private final LongAdder usageTotalMillis = new LongAdder();
+        private volatile PoolStats poolStats;
+
+        private Pool(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            this.poolStats = poolStats;
+            return this;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            createdMillis.record(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            final long micros = TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos);
+            acquireMicros.record(micros);
+            acquireCount.increment();
+            acquireTotalMicros.add(micros);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageMillis.record(elapsedBorrowedMillis);
+            usageCount.increment();
+            usageTotalMillis.add(elapsedBorrowedMillis);
+            ConnectionHoldTracker.recordUsage(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        public int getActive() {
+            return poolStats == null ? 0 : poolStats.getActiveConnections();
+        }
+
+        public int getIdle() {
+            return poolStats == null ? 0 : poolStats.getIdleConnections();
+        }
+
+        public int getTotal() {
+            return poolStats == null ? 0 : poolStats.getTotalConnections();
+        }
+
+        public int getPending() {
+            return poolStats == null ? 0 : poolStats.getPendingThreads();
+        }
+
+        public int getMax() {
+            return poolStats == null ? 0 : poolStats.getMaxConnections();
+        }
+
+        public int getMin() {
+            return poolStats == null ? 0 : poolStats.getMinConnections();
+        }
+
+        private Map<String, Number> metrics() {
+            Map<String, Number> metrics = new LinkedHashMap<>();
+            metrics.put("active", getActive());
+            metrics.put("idle", getIdle());
+            metrics.put("total", getTotal());
+            metrics.put("pending", getPending());
+            metrics.put("max", getMax());
+            metrics.put("min", getMin());
+            metrics.put("timeouts", timeouts.sum());
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.clever.app.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定内存的耗时分布(对数-线性区间，每个2的幂区间再分成4份，相对误差小于25%)，支持并发写入
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int SUB_BITS = 2;
+    /**
+     * 可以区分的最大值 2^34 (毫秒约199天，微秒约4.7小时)，超出的计入最后一个区间
+     */
+    private static final int BUCKETS = SUB_BUCKETS + (34 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 把当前数据累加到 snapshot
+     */
+    public void mergeTo(Snapshot snapshot) {
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot.counts[i] += counts.get(i);
+        }
+        snapshot.count += count.sum();
+        snapshot.sum += sum.sum();
+        snapshot.max = Math.max(snapshot.max, max.get());
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        mergeTo(snapshot);
+        return snapshot;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /**
+     * 区间的上限(包含)
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        final int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * 某一时刻的数据(可以合并多个 LatencyHistogram)
+     */
+    @Getter
+    public static class Snapshot {
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long sum;
+        private long max;
+
+        /**
+         * 估算分位数(返回所在区间的上限，不超过最大值)
+         *
+         * @param quantile 0 ~ 1
+         */
+        public long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        public double getAvg() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.clever.app.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按分钟分片的 LatencyHistogram，保留 SqlStats.SLOTS 个分片(最近 SqlStats.WINDOW_MINUTES 分钟 + 当前分钟)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+public class WindowedHistogram {
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SqlStats.SLOTS);
+
+    public void record(long value) {
+        final long minute = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+        final int index = (int) (minute % slots.length());
+        Slot slot = slots.get(index);
+        while (slot == null || slot.minute < minute) {
+            slots.compareAndSet(index, slot, new Slot(minute));
+            slot = slots.get(index);
+        }
+        slot.histogram.record(value);
+    }
+
+    /**
+     * 合并最近 minutes 分钟的数据: 当前分片(不完整) + 之前 minutes 个分片，
+     * 保证始终覆盖完整的 minutes 分钟，不会在每分钟开始时只剩几秒的数据
+     */
+    public LatencyHistogram.Snapshot snapshot(int minutes) {
+        final long currentMinute = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        for (int i = 0; i < slots.length(); i++) {
+            final Slot slot = slots.get(i);
+            if (slot != null && slot.minute <= currentMinute && slot.minute >= currentMinute - minutes) {
+                slot.histogram.mergeTo(snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    private static final class Slot {
+        private final long minute;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Slot(long minute) {
+            this.minute = minute;
+        }
+    }
+}
@@ -8,7 +8,18 @@ import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.DateFormatUtils;
+import org.clever.app.cache.QueryCache;
+import org.clever.app.jdbc.ColumnarRows;
+import org.clever.app.jdbc.IdAllocator;
+import org.clever.app.jdbc.JdbcBatch;
+import org.clever.app.jdbc.JdbcFanOut;
+import org.clever.app.jdbc.KeysetPagination;
+import org.clever.app.jdbc.ReadReplicas;
+import org.clever.app.jdbc.SpillableRows;
+import org.clever.app.jdbc.TwoLevelLock;
 import org.clever.app.mapper.MapperTest;
+import org.clever.app.web.CacheResponse;
+import org.clever.app.web.JsonStreamWriter;
 import org.clever.core.DateUtils;
 import org.clever.core.http.CookieUtils;
 import org.clever.core.model.request.QueryByPage;
@@ -30,7 +41,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.sql.Types;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 作者：lizw <br/>
@@ -39,6 +52,7 @@ import java.util.*;
 @Slf4j
 public class MvcTest {
     // 无参数
+    @CacheResponse(ttl = 60, shared = true)
     public static Object t01() {
         Entity1 entity1 = new Entity1();
         entity1.setAge(1);
@@ -356,4 +370,129 @@ public class MvcTest {
         List<Map<String, Object>> list = mapperTest.q02("abc");
         return R.success(list);
     }
+
+    // 流式输出查询结果(逐行写入响应，内存占用与数据量无关)
+    @Transactional(datasource = {"postgresql"})
+    public static void t26(HttpServletResponse response) {
+        Jdbc postgresql = DaoFactory.getJdbc("postgresql");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        JsonStreamWriter.writeQuery(response, postgresql, "select * from asn_in where update_at>=:updateAt", params);
+    }
+
+    // 批量新增(JDBC batch)
+    @Transactional
+    public static R<?> t27() {
+        List<Map<String, Object>> rows = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("code_name", "biz" + i);
+            row.put("pattern", "CK${yyMMddHHmm}${seq}");
+            row.put("sequence", 0);
+            row.put("reset_flag", "yyMMdd");
+            rows.add(row);
+        }
+        int count = JdbcBatch.insertTables(jdbc, "biz_code", rows, 200);
+        return R.success(count);
+    }
+
+    @Transactional(disabled = true)
+    public static R<?> t28() {
+        IdAllocator idAllocator = IdAllocator.of(jdbc);
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("id", idAllocator.nextId("t01"));
+        res.put("ids", idAllocator.nextIds("t01", 10));
+        res.put("blockSize", idAllocator.getBlockSize("t01"));
+        return R.success(res);
+    }
+
+    @SneakyThrows
+    @Transactional(disabled = true)
+    public static R<?> t29() {
+        // 本地线程先在JVM内排队，只有获得本地锁的线程才会请求数据库锁
+        TwoLevelLock lock = TwoLevelLock.of(jdbc);
+        AtomicInteger count = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> lock.lock("test", () -> {
+                // 可重入
+                lock.lock("test", count::incrementAndGet);
+            }));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return R.success(count.get());
+    }
+
+    // 查询结果缓存(asn_in 表数据修改后需要调用 QueryCache.invalidate)
+    @Transactional(disabled = true)
+    public static R<?> t30() {
+        Jdbc postgresql = DaoFactory.getJdbc("postgresql");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        List<Map<String, Object>> list = QueryCache.queryMany(postgresql, "select * from asn_in where update_at>=:updateAt", params, "asn_in");
+        return R.success(list);
+    }
+
+    // 只读查询路由到从库(jdbc.read-replica)，请求占用连接的时间见请求日志中的 db=
+    @Transactional(disabled = true)
+    public static R<?> t31() {
+        Jdbc jdbc = ReadReplicas.forRead("postgresql");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("datasource", ReadReplicas.resolve("postgresql"));
+        data.put("count", jdbc.queryLong("select count(*) from asn_in"));
+        return R.success(data);
+    }
+
+    // 多个数据源的查询并行执行(耗时为最慢的查询，超时后取消未完成的查询)
+    @Transactional(disabled = true)
+    public static R<?> t32() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        JdbcFanOut fanOut = JdbcFanOut.create(Duration.ofSeconds(3));
+        JdbcFanOut.Query<Long> bizCodeCount = fanOut.queryLong("mysql", "select count(*) from biz_code", params);
+        JdbcFanOut.Query<List<Map<String, Object>>> asnIn = fanOut.queryManyRaw("postgresql", "select * from asn_in where update_at>=:updateAt", params);
+        fanOut.await();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("bizCodeCount", bizCodeCount.get());
+        data.put("asnIn", asnIn.get());
+        return R.success(data);
+    }
+
+    private static final KeysetPagination ASN_IN_PAGINATION = KeysetPagination.of("select * from asn_in where update_at>=:updateAt")
+        .desc("update_at")
+        .desc("id")
+        .count(KeysetPagination.CountMode.ESTIMATED, "asn_in");
+
+    // 键集分页: 第一页不传 cursor，之后传上一页返回的 nextCursor
+    @Transactional(disabled = true)
+    public static R<?> t33(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer pageSize) {
+        Jdbc postgresql = DaoFactory.getJdbc("postgresql");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        return R.success(ASN_IN_PAGINATION.query(postgresql, params, cursor, pageSize == null ? 20 : pageSize));
+    }
+
+    // 大数据量导出: 查询结果缓存在堆外(超过阈值写入临时文件)，排序后逐行写入响应
+    @Transactional(datasource = {"postgresql"})
+    public static void t34(HttpServletResponse response) {
+        Jdbc postgresql = DaoFactory.getJdbc("postgresql");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        try (SpillableRows rows = SpillableRows.query(postgresql, "select * from asn_in where update_at>=:updateAt", params)) {
+            JsonStreamWriter.writeRows(response, rows.sorted("update_at", true));
+        }
+    }
+
+    // 按列存储查询结果(ColumnarRows 实现了 List<Map<String, Object>>，key 为原始列名)
+    @Transactional(disabled = true)
+    public static Object t35() {
+        Jdbc postgresql = DaoFactory.getJdbc("postgresql");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updateAt", "2023-11-23 11:50:19");
+        return ColumnarRows.queryMany(postgresql, "select * from asn_in where update_at>=:updateAt", params);
+    }
 }
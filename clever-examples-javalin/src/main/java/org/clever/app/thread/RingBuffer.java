@@ -0,0 +1,117 @@
+package org.clever.app.thread;
+
+import org.clever.core.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 预分配槽位的有界无锁环形缓冲区(多生产者、单消费者)
+ * <pre>
+ * 生产者: long seq = tryClaim(); 填充 get(seq); publish(seq);  (tryClaim返回-1表示缓冲区已满)
+ * 消费者: E entry = peek(next); 处理 entry; release(next); next++;
+ * </pre>
+ * 槽位中的对象会被重复使用，消费者 release 之后不能再引用它
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+public class RingBuffer<E> {
+    private final Object[] entries;
+    /**
+     * 每个槽位当前发布的序号
+     */
+    private final AtomicLongArray published;
+    private final int mask;
+    /**
+     * 下一个可以申请的序号
+     */
+    private final AtomicLong claimed = new AtomicLong();
+    /**
+     * 小于该序号的槽位已经被消费者处理完
+     */
+    private final AtomicLong consumed = new AtomicLong();
+
+    /**
+     * @param size    缓冲区大小(会向上取整为2的幂)
+     * @param factory 创建槽位对象
+     */
+    public RingBuffer(int size, Supplier<E> factory) {
+        Assert.isTrue(size > 0, "size 必须大于0");
+        Assert.notNull(factory, "factory 不能为 null");
+        final int capacity = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.entries = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = factory.get();
+            published.set(i, i - capacity);
+        }
+    }
+
+    /**
+     * 申请一个槽位，缓冲区已满时返回-1
+     */
+    public long tryClaim() {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed.get() >= entries.length) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+        return seq;
+    }
+
+    /**
+     * 获取序号对应的槽位对象
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long seq) {
+        return (E) entries[(int) (seq & mask)];
+    }
+
+    /**
+     * 发布填充好的槽位(之后消费者才能读取)
+     */
+    public void publish(long seq) {
+        published.set((int) (seq & mask), seq);
+    }
+
+    /**
+     * 读取已经发布的槽位，还未发布时返回 null
+     */
+    public E peek(long seq) {
+        final int index = (int) (seq & mask);
+        if (published.get(index) != seq) {
+            return null;
+        }
+        return get(seq);
+    }
+
+    /**
+     * 消费者处理完成，槽位可以被生产者复用
+     */
+    public void release(long seq) {
+        consumed.lazySet(seq + 1);
+    }
+
+    /**
+     * 消费者下一个需要处理的序号
+     */
+    public long getConsumed() {
+        return consumed.get();
+    }
+
+    /**
+     * 已申请还未被处理的槽位数量
+     */
+    public long getPending() {
+        return claimed.get() - consumed.get();
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,84 @@
+package org.clever.app.thread;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 虚拟线程pinned检测(基于JFR的 jdk.VirtualThreadPinned 事件)，
+ * 用于发现 synchronized 代码块(如: JDBC驱动、连接池)中阻塞导致载体线程被占用的问题
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 14:42 <br/>
+ */
+@Slf4j
+public class VirtualThreadPinnedMonitor implements AutoCloseable {
+    /**
+     * 默认记录阻塞时间超过20ms的 pinned 事件
+     */
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(20);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final LongAdder pinnedCount = new LongAdder();
+
+    /**
+     * @param threshold 记录阻塞时间超过 threshold 的 pinned 事件
+     */
+    public VirtualThreadPinnedMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("虚拟线程pinned检测已启动 | threshold={}ms", threshold.toMillis());
+    }
+
+    /**
+     * 当前运行时支持虚拟线程时启动检测，否则返回 null
+     */
+    public static VirtualThreadPinnedMonitor startIfSupported(Duration threshold) {
+        if (!VirtualThreads.isSupported()) {
+            log.warn("当前运行时(java {})不支持虚拟线程", Runtime.version());
+            return null;
+        }
+        return new VirtualThreadPinnedMonitor(threshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        StringBuilder stack = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            for (int i = 0; i < frames.size() && i < MAX_FRAMES; i++) {
+                RecordedFrame frame = frames.get(i);
+                stack.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+            }
+        }
+        log.warn(
+            "虚拟线程pinned | thread={} | duration={}ms{}",
+            event.getThread() == null ? null : event.getThread().getJavaName(),
+            event.getDuration().toMillis(),
+            stack
+        );
+    }
+
+    /**
+     * pinned 事件数量
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,50 @@
+package org.clever.app.web;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存MVC处理函数的响应数据(只缓存GET请求、状态码为200的响应)
+ * <pre>
+ * 1. 缓存key = 请求路径 + 当前用户 + 指定的请求参数、请求头、cookie
+ * 2. 缓存命中时不会执行处理函数，请求头 If-None-Match 与缓存的 ETag 相同时直接返回 304
+ * 3. 只缓存响应体和 Content-Type，处理函数设置的其它响应头(如 Set-Cookie)不会被缓存
+ * 4. 默认每个用户单独缓存，响应数据与用户无关时可设置 shared = true 让所有用户共享缓存
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 21:50 <br/>
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheResponse {
+    /**
+     * 所有请求参数
+     */
+    String ALL_PARAMS = "*";
+
+    /**
+     * 缓存时间(秒)
+     */
+    int ttl() default 60;
+
+    /**
+     * 作为缓存key的请求参数(默认使用所有请求参数)
+     */
+    String[] params() default {ALL_PARAMS};
+
+    /**
+     * 作为缓存key的请求头
+     */
+    String[] headers() default {};
+
+    /**
+     * 作为缓存key的cookie
+     */
+    String[] cookies() default {};
+
+    /**
+     * 所有用户共享缓存(缓存key不包含当前用户)，只能用于与用户无关的响应数据
+     */
+    boolean shared() default false;
+}
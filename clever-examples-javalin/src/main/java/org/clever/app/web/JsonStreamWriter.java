@@ -0,0 +1,132 @@
+package org.clever.app.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import org.clever.app.jdbc.JdbcStreams;
+import org.clever.app.jdbc.SpillableRows;
+import org.clever.core.AppContextHolder;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 把查询结果逐行写入到http响应(JSON数组)，内存占用与查询结果大小无关。
+ * MVC处理函数直接使用 HttpServletResponse 输出数据，在 Javalin(MvcFilter) 和 Spring(FilterAdapter) 中都可以使用
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 16:58 <br/>
+ */
+public abstract class JsonStreamWriter {
+    /**
+     * 每输出 FLUSH_ROWS 行数据刷新一次响应
+     */
+    private static final int FLUSH_ROWS = 1000;
+    private static volatile ObjectMapper defaultMapper;
+
+    /**
+     * 执行查询并把结果以JSON数组输出到http响应
+     *
+     * @param response http响应
+     * @param jdbc     数据源
+     * @param sql      sql语句(支持命名参数)
+     * @param paramMap 参数
+     * @return 输出的数据行数
+     */
+    @SneakyThrows
+    public static long writeQuery(HttpServletResponse response, Jdbc jdbc, String sql, Map<String, ?> paramMap) {
+        final ObjectMapper mapper = getObjectMapper();
+        response.setContentType("application/json;charset=UTF-8");
+        final long[] rows = {0};
+        try (JsonGenerator generator = mapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            JdbcStreams.query(jdbc, sql, paramMap, new RowCallbackHandler() {
+                private String[] columns;
+
+                @Override
+                public void processRow(ResultSet rs) throws SQLException {
+                    if (columns == null) {
+                        columns = JdbcStreams.getColumnNames(rs.getMetaData());
+                    }
+                    writeRow(generator, rs, columns);
+                    if (++rows[0] % FLUSH_ROWS == 0) {
+                        flush(generator);
+                    }
+                }
+            });
+            generator.writeEndArray();
+        }
+        return rows[0];
+    }
+
+    /**
+     * 把 SpillableRows 的数据以JSON数组输出到http响应(逐行解码，不会在堆中保存所有数据)
+     *
+     * @param response http响应
+     * @param rows     查询结果(可以是排序、分组后的视图)
+     * @return 输出的数据行数
+     */
+    @SneakyThrows
+    public static long writeRows(HttpServletResponse response, SpillableRows rows) {
+        final ObjectMapper mapper = getObjectMapper();
+        response.setContentType("application/json;charset=UTF-8");
+        final String[] columns = rows.getColumns().toArray(new String[0]);
+        final long[] count = {0};
+        try (JsonGenerator generator = mapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            rows.forEachRow(values -> {
+                writeValues(generator, columns, values);
+                if (++count[0] % FLUSH_ROWS == 0) {
+                    flush(generator);
+                }
+            });
+            generator.writeEndArray();
+        }
+        return count[0];
+    }
+
+    @SneakyThrows
+    private static void writeValues(JsonGenerator generator, String[] columns, Object[] values) {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(values[i]);
+        }
+        generator.writeEndObject();
+    }
+
+    @SneakyThrows
+    private static void writeRow(JsonGenerator generator, ResultSet rs, String[] columns) {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(JdbcUtils.getResultSetValue(rs, i + 1));
+        }
+        generator.writeEndObject();
+    }
+
+    @SneakyThrows
+    private static void flush(JsonGenerator generator) {
+        generator.flush();
+    }
+
+    /**
+     * 使用web服务的 ObjectMapper(保持日期等格式一致)
+     */
+    private static ObjectMapper getObjectMapper() {
+        ObjectMapper mapper = AppContextHolder.getBean("javalinObjectMapper", ObjectMapper.class);
+        if (mapper != null) {
+            return mapper;
+        }
+        if (defaultMapper == null) {
+            defaultMapper = new ObjectMapper();
+        }
+        return defaultMapper;
+    }
+}
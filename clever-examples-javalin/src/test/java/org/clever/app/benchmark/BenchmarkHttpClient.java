@@ -0,0 +1,59 @@
+package org.clever.app.benchmark;
+
+import lombok.SneakyThrows;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 性能测试使用的http客户端(连接本机随机端口上的服务)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 10:12 <br/>
+ */
+public class BenchmarkHttpClient {
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public BenchmarkHttpClient(int port) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(3))
+            .build();
+        this.baseUrl = "http://127.0.0.1:" + port;
+    }
+
+    public String get(String path) {
+        return get(path, 200);
+    }
+
+    public String get(String path, int expectStatus) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return send(request, expectStatus);
+    }
+
+    public String get(String path, String headerName, String headerValue) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).header(headerName, headerValue).GET().build();
+        return send(request, 200);
+    }
+
+    public String postJson(String path, String json) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+        return send(request, 200);
+    }
+
+    @SneakyThrows
+    private String send(HttpRequest request, int expectStatus) {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectStatus) {
+            throw new IllegalStateException(String.format("请求失败: %s %s -> %s | %s", request.method(), request.uri(), response.statusCode(), response.body()));
+        }
+        return response.body();
+    }
+}
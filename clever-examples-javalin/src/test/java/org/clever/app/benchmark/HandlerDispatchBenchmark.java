@@ -0,0 +1,97 @@
+package org.clever.app.benchmark;
+
+import io.javalin.Javalin;
+import org.clever.app.AppBootstrap;
+import org.clever.app.mvc.MvcTest;
+import org.clever.app.mvc.Test2;
+import org.clever.app.mvc.Test3;
+import org.clever.app.mvc.TestKt;
+import org.clever.core.AppContextHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MVC处理函数调用方式的性能测试: Method.invoke(反射) 与 LambdaMetafactory 生成的调用器
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 16:10 <br/>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandlerDispatchBenchmark {
+    private Javalin javalin;
+
+    private Method t01;
+    private Method t05;
+    private Method t07;
+    private HandlerInvokers.HandlerInvoker t01Invoker;
+    private HandlerInvokers.HandlerInvoker t05Invoker;
+    private HandlerInvokers.HandlerInvoker t07Invoker;
+
+    private final Object[] t01Args = new Object[0];
+    private final Object[] t05Args = new Object[]{1, new Date()};
+    private final Object[] t07Args = new Object[1];
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        // MvcTest 的静态字段依赖数据源
+        AppBootstrap.start(new String[]{"--spring.profiles.active=bench"});
+        javalin = AppContextHolder.getBean("javalin", Javalin.class);
+        t01 = MvcTest.class.getMethod("t01");
+        t05 = MvcTest.class.getMethod("t05", Integer.class, Date.class);
+        t07 = MvcTest.class.getMethod("t07", MvcTest.BodyParam.class);
+        t01Invoker = HandlerInvokers.create(t01, null);
+        t05Invoker = HandlerInvokers.create(t05, null);
+        t07Invoker = HandlerInvokers.create(t07, null);
+        MvcTest.BodyParam bodyParam = new MvcTest.BodyParam();
+        bodyParam.setA("abc");
+        bodyParam.setB(new Date());
+        t07Args[0] = bodyParam;
+        // kotlin 顶层函数、伴生对象、object
+        HandlerInvokers.create(TestKt.class.getMethod("t01"), null).invoke(t01Args);
+        HandlerInvokers.create(Test2.Companion.class.getMethod("t01"), Test2.Companion).invoke(t01Args);
+        HandlerInvokers.create(Test3.class.getMethod("t01"), Test3.INSTANCE).invoke(t01Args);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        javalin.stop();
+    }
+
+    @Benchmark
+    public Object reflectT01() throws Exception {
+        return t01.invoke(null, t01Args);
+    }
+
+    @Benchmark
+    public Object generatedT01() throws Throwable {
+        return t01Invoker.invoke(t01Args);
+    }
+
+    @Benchmark
+    public Object reflectT05() throws Exception {
+        return t05.invoke(null, t05Args);
+    }
+
+    @Benchmark
+    public Object generatedT05() throws Throwable {
+        return t05Invoker.invoke(t05Args);
+    }
+
+    @Benchmark
+    public Object reflectT07() throws Exception {
+        return t07.invoke(null, t07Args);
+    }
+
+    @Benchmark
+    public Object generatedT07() throws Throwable {
+        return t07Invoker.invoke(t07Args);
+    }
+}
@@ -0,0 +1,150 @@
+package org.clever.app.benchmark;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 使用 LambdaMetafactory 为MVC处理函数生成非反射的调用器，支持:
+ * <pre>
+ * 1. java静态函数(MvcTest.t01)
+ * 2. kotlin顶层函数(TestKt.t01)
+ * 3. kotlin伴生对象函数(Test2.Companion.t01)
+ * 4. kotlin object函数(Test3.INSTANCE.t01)
+ * </pre>
+ * 参数数量超过4个时退回到 MethodHandle 调用
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 15:48 <br/>
+ */
+public abstract class HandlerInvokers {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?>[] FUNCTIONS = {Fn0.class, Fn1.class, Fn2.class, Fn3.class, Fn4.class};
+    private static final Class<?>[] VOID_FUNCTIONS = {VoidFn0.class, VoidFn1.class, VoidFn2.class, VoidFn3.class, VoidFn4.class};
+
+    @FunctionalInterface
+    public interface HandlerInvoker {
+        Object invoke(Object[] args) throws Throwable;
+    }
+
+    /**
+     * 生成调用器
+     *
+     * @param method 处理函数
+     * @param target 非静态函数的调用对象(伴生对象、object单例)，静态函数传 null
+     */
+    @SneakyThrows
+    public static HandlerInvoker create(Method method, Object target) {
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+        final int arity = method.getParameterCount();
+        final MethodHandle impl = LOOKUP.unreflect(method);
+        if (arity >= FUNCTIONS.length) {
+            MethodHandle handle = isStatic ? impl : impl.bindTo(target);
+            final MethodHandle spreader = handle.asSpreader(Object[].class, arity).asType(MethodType.methodType(Object.class, Object[].class));
+            return spreader::invokeExact;
+        }
+        final boolean isVoid = method.getReturnType() == void.class;
+        final Class<?> fnType = isVoid ? VOID_FUNCTIONS[arity] : FUNCTIONS[arity];
+        final Class<?>[] erased = new Class<?>[arity];
+        final Class<?>[] boxed = new Class<?>[arity];
+        for (int i = 0; i < arity; i++) {
+            erased[i] = Object.class;
+            boxed[i] = MethodType.methodType(method.getParameterTypes()[i]).wrap().returnType();
+        }
+        final Class<?> samReturn = isVoid ? void.class : Object.class;
+        final Class<?> instantiatedReturn = isVoid ? void.class : MethodType.methodType(method.getReturnType()).wrap().returnType();
+        final MethodType factoryType = isStatic ? MethodType.methodType(fnType) : MethodType.methodType(fnType, method.getDeclaringClass());
+        CallSite callSite = LambdaMetafactory.metafactory(
+            LOOKUP,
+            "apply",
+            factoryType,
+            MethodType.methodType(samReturn, erased),
+            impl,
+            MethodType.methodType(instantiatedReturn, boxed)
+        );
+        final Object fn = isStatic ? callSite.getTarget().invoke() : callSite.getTarget().invoke(target);
+        return adapt(fn);
+    }
+
+    private static HandlerInvoker adapt(Object fn) {
+        if (fn instanceof Fn0 f) {
+            return args -> f.apply();
+        } else if (fn instanceof Fn1 f) {
+            return args -> f.apply(args[0]);
+        } else if (fn instanceof Fn2 f) {
+            return args -> f.apply(args[0], args[1]);
+        } else if (fn instanceof Fn3 f) {
+            return args -> f.apply(args[0], args[1], args[2]);
+        } else if (fn instanceof Fn4 f) {
+            return args -> f.apply(args[0], args[1], args[2], args[3]);
+        } else if (fn instanceof VoidFn0 f) {
+            return args -> {
+                f.apply();
+                return null;
+            };
+        } else if (fn instanceof VoidFn1 f) {
+            return args -> {
+                f.apply(args[0]);
+                return null;
+            };
+        } else if (fn instanceof VoidFn2 f) {
+            return args -> {
+                f.apply(args[0], args[1]);
+                return null;
+            };
+        } else if (fn instanceof VoidFn3 f) {
+            return args -> {
+                f.apply(args[0], args[1], args[2]);
+                return null;
+            };
+        } else if (fn instanceof VoidFn4 f) {
+            return args -> {
+                f.apply(args[0], args[1], args[2], args[3]);
+                return null;
+            };
+        }
+        throw new IllegalArgumentException("不支持的函数类型: " + fn.getClass());
+    }
+
+    public interface Fn0 {
+        Object apply();
+    }
+
+    public interface Fn1 {
+        Object apply(Object a1);
+    }
+
+    public interface Fn2 {
+        Object apply(Object a1, Object a2);
+    }
+
+    public interface Fn3 {
+        Object apply(Object a1, Object a2, Object a3);
+    }
+
+    public interface Fn4 {
+        Object apply(Object a1, Object a2, Object a3, Object a4);
+    }
+
+    public interface VoidFn0 {
+        void apply();
+    }
+
+    public interface VoidFn1 {
+        void apply(Object a1);
+    }
+
+    public interface VoidFn2 {
+        void apply(Object a1, Object a2);
+    }
+
+    public interface VoidFn3 {
+        void apply(Object a1, Object a2, Object a3);
+    }
+
+    public interface VoidFn4 {
+        void apply(Object a1, Object a2, Object a3, Object a4);
+    }
+}
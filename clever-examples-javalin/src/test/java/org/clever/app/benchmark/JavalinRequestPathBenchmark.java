@@ -0,0 +1,87 @@
+package org.clever.app.benchmark;
+
+import io.javalin.Javalin;
+import org.clever.app.AppBootstrap;
+import org.clever.core.AppContextHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Javalin部署方式下完整请求链路的性能测试(12个Filter + MVC), 使用H2代替 mysql、postgresql 数据源。
+ * 使用 Mode.SampleTime 的结果获取 p99 延迟
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 10:26 <br/>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JavalinRequestPathBenchmark {
+    /**
+     * false: 每个Filter单独注册 | true: 预编译的过滤器链(web.filter-pipeline.enable)
+     */
+    @Param({"false", "true"})
+    public boolean filterPipeline;
+
+    private Javalin javalin;
+    private BenchmarkHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AppBootstrap.start(new String[]{"--spring.profiles.active=bench", "--web.filter-pipeline.enable=" + filterPipeline});
+        javalin = AppContextHolder.getBean("javalin", Javalin.class);
+        client = new BenchmarkHttpClient(javalin.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        javalin.stop();
+    }
+
+    // MvcTest.t01 | Map + Entity1 Jackson序列化
+    @Benchmark
+    public String t01() {
+        return client.get("/api/app/MvcTest@t01");
+    }
+
+    // MvcTest.t05 | RequestParamMethodArgumentResolver
+    @Benchmark
+    public String t05() {
+        return client.get("/api/app/MvcTest@t05?a=1&b=2023-01-01%2000:00:00");
+    }
+
+    // MvcTest.t06 | RequestParamMapMethodArgumentResolver
+    @Benchmark
+    public String t06() {
+        return client.get("/api/app/MvcTest@t06?a=1&b=2&c=3&c=4");
+    }
+
+    // MvcTest.t07 | RequestBodyMethodProcessor
+    @Benchmark
+    public String t07() {
+        return client.postJson("/api/app/MvcTest@t07", "{\"a\":\"abc\",\"b\":\"2023-01-01 00:00:00\"}");
+    }
+
+    // MvcTest.t12 | RequestBody + Validated
+    @Benchmark
+    public String t12() {
+        return client.postJson("/api/app/MvcTest@t12", "{\"a\":\"abc\",\"b\":1}");
+    }
+
+    // 静态资源(完整的过滤器链)
+    @Benchmark
+    public String staticFile() {
+        return client.get("/index.html");
+    }
+
+    // 404(完整的过滤器链)
+    @Benchmark
+    public String notFound() {
+        return client.get("/api/app/MvcTest@not_exists", 404);
+    }
+}
@@ -0,0 +1,48 @@
+package org.clever.app.benchmark;
+
+import io.javalin.Javalin;
+import org.clever.app.AppBootstrap;
+import org.clever.core.AppContextHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞请求(MvcTest.t09 Thread.sleep(100))在并发数超过 web.thread-pool-max(250) 时的性能测试，
+ * 对比平台线程池与虚拟线程(web.use-virtual-threads, 需要jdk21+)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 15:05 <br/>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(500)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JavalinVirtualThreadBenchmark {
+    @Param({"false", "true"})
+    public boolean useVirtualThreads;
+
+    private Javalin javalin;
+    private BenchmarkHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AppBootstrap.start(new String[]{"--spring.profiles.active=bench", "--web.use-virtual-threads=" + useVirtualThreads});
+        javalin = AppContextHolder.getBean("javalin", Javalin.class);
+        client = new BenchmarkHttpClient(javalin.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        javalin.stop();
+    }
+
+    // MvcTest.t09 | RequestHeader + Thread.sleep(100)
+    @Benchmark
+    public String t09() {
+        return client.get("/api/app/MvcTest@t09", "a", "abc");
+    }
+}
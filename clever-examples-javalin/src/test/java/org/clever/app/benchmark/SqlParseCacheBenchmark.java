@@ -0,0 +1,73 @@
+package org.clever.app.benchmark;
+
+import org.clever.app.jdbc.SqlParseCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 命名参数SQL解析: 每次解析 与 SqlParseCache 的性能对比
+ * <pre>
+ * t16: select * from asn_in where update_at>=:updateAt
+ * t25: mapper q02 渲染后的SQL
+ * in:  集合参数(需要展开 "?"，走回退路径)
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 20:50 <br/>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlParseCacheBenchmark {
+    @Param({"t16", "t25", "in"})
+    public String shape;
+
+    private String sql;
+    private Map<String, Object> params;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        params = new LinkedHashMap<>();
+        switch (shape) {
+            case "t16" -> {
+                sql = "select * from asn_in where update_at>=:updateAt";
+                params.put("updateAt", "2023-11-23 11:50:19");
+            }
+            case "t25" -> {
+                sql = "select * from test where a=:a";
+                params.put("a", "abc");
+            }
+            default -> {
+                sql = "select * from asn_in where update_at>=:updateAt and asn_in_id in (:ids) order by asn_in_id";
+                params.put("updateAt", "2023-11-23 11:50:19");
+                params.put("ids", List.of(1L, 2L, 3L, 4L, 5L));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseEveryTime(Blackhole blackhole) {
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        MapSqlParameterSource source = new MapSqlParameterSource(params);
+        blackhole.consume(NamedParameterUtils.substituteNamedParameters(parsedSql, source));
+        blackhole.consume(NamedParameterUtils.buildValueArray(parsedSql, source, null));
+    }
+
+    @Benchmark
+    public void parseCache(Blackhole blackhole) {
+        SqlParseCache.PreparedSql preparedSql = SqlParseCache.prepare("postgresql", sql, params);
+        blackhole.consume(preparedSql.getSql());
+        blackhole.consume(preparedSql.getArgs());
+    }
+}
@@ -0,0 +1,101 @@
+package org.clever.app.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.jdbc.TwoLevelLock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 64个本地线程竞争同一个锁(MvcTest.t23 场景): 直接使用数据库锁 与 两级锁 的延迟和连接占用对比
+ * <pre>
+ * 数据库锁使用 SimulatedNativeLock 模拟: 获取/释放各一次网络往返，等待期间占用一个连接
+ * 每轮测试结束时在日志中输出最大连接占用数(maxConnections)
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 20:05 <br/>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+@Slf4j
+public class TwoLevelLockBenchmark {
+    @Param({"native", "twoLevel"})
+    public String mode;
+    /**
+     * 一次数据库网络往返的耗时(微秒)
+     */
+    @Param({"200"})
+    public long roundTripMicros;
+
+    private SimulatedNativeLock nativeLock;
+    private TwoLevelLock twoLevelLock;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        nativeLock = new SimulatedNativeLock(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        twoLevelLock = new TwoLevelLock(nativeLock);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        log.info("mode={} maxConnections={}", mode, nativeLock.maxConnections.getAndSet(0));
+    }
+
+    @Benchmark
+    public void lock(Blackhole blackhole) {
+        Runnable syncBlock = () -> Blackhole.consumeCPU(64);
+        if ("native".equals(mode)) {
+            nativeLock.lock("test", syncBlock);
+        } else {
+            twoLevelLock.lock("test", syncBlock);
+        }
+        blackhole.consume(syncBlock);
+    }
+
+    /**
+     * 模拟数据库原生锁(如 pg_advisory_lock、get_lock): 请求期间占用连接，数据库端按锁排队
+     */
+    public static class SimulatedNativeLock implements TwoLevelLock.NativeLock {
+        private final long roundTripNanos;
+        private final ReentrantLock serverLock = new ReentrantLock(true);
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger maxConnections = new AtomicInteger();
+
+        public SimulatedNativeLock(long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public void lock(String lockName, Runnable syncBlock) {
+            maxConnections.accumulateAndGet(connections.incrementAndGet(), Math::max);
+            try {
+                LockSupport.parkNanos(roundTripNanos);
+                serverLock.lock();
+                try {
+                    syncBlock.run();
+                } finally {
+                    serverLock.unlock();
+                    LockSupport.parkNanos(roundTripNanos);
+                }
+            } finally {
+                connections.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void tryLock(String lockName, int waitSeconds, Consumer<Boolean> syncBlock) {
+            lock(lockName, () -> syncBlock.accept(true));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.clever.app.cache;
+
+import org.clever.app.config.QueryCacheConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 11:00 <br/>
+ */
+public class QueryCacheTest {
+    @BeforeAll
+    public static void init() {
+        // 不使用redis，表版本号只保存在本地
+        QueryCacheConfig config = new QueryCacheConfig();
+        config.setEnable(true);
+        QueryCache.init(config);
+    }
+
+    @AfterEach
+    public void resetRedis() {
+        init();
+    }
+
+    @AfterAll
+    public static void destroy() {
+        QueryCache.init(new QueryCacheConfig());
+    }
+
+    @AfterEach
+    public void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        for (Object key : new ArrayList<>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    @Test
+    public void invalidateWithoutTransaction() {
+        final long version = QueryCache.getVersion("ds_no_tx", "t_order");
+        QueryCache.invalidate("ds_no_tx", "t_order");
+        assertEquals(version + 1, QueryCache.getVersion("ds_no_tx", "t_order"));
+        // 表名忽略大小写和首尾空白
+        assertEquals(version + 1, QueryCache.getVersion("ds_no_tx", " T_ORDER "));
+    }
+
+    @Test
+    public void invalidateAfterCommit() {
+        assertInvalidateAfterCompletion("ds_commit", TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    @Test
+    public void invalidateAfterRollback() {
+        assertInvalidateAfterCompletion("ds_rollback", TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private static void assertInvalidateAfterCompletion(String dataSourceName, int status) {
+        final long version = QueryCache.getVersion(dataSourceName, "t_order");
+        TransactionSynchronizationManager.initSynchronization();
+        QueryCache.invalidate(dataSourceName, "t_order");
+        assertEquals(version + 1, QueryCache.getVersion(dataSourceName, "t_order"));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        // 事务结束前其它线程可能使用旧数据写入了缓存，事务结束后再失效一次
+        assertEquals(version + 2, QueryCache.getVersion(dataSourceName, "t_order"));
+    }
+
+    @Test
+    public void readWriteTransaction() {
+        final DataSource dataSource = new SimpleDriverDataSource();
+        final DataSource otherDataSource = new SimpleDriverDataSource();
+        assertFalse(QueryCache.inReadWriteTransaction(dataSource));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.bindResource(dataSource, new Object());
+        assertTrue(QueryCache.inReadWriteTransaction(dataSource));
+        // 其它数据源的事务不影响缓存
+        assertFalse(QueryCache.inReadWriteTransaction(otherDataSource));
+        // 只读事务可以使用缓存
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertFalse(QueryCache.inReadWriteTransaction(dataSource));
+    }
+
+    @Test
+    public void redisIncrementFailed() {
+        final FakeVersionRedis redis = initWithRedis();
+        final String key = "query-cache:version:ds_redis:t_order";
+        redis.values.put(key, 5L);
+        assertEquals(5, QueryCache.getVersion("ds_redis", "t_order"));
+        redis.failIncrement = true;
+        QueryCache.invalidate("ds_redis", "t_order");
+        // 本地缓存立即失效，redis更新成功之前不使用缓存
+        assertEquals(6, QueryCache.getVersion("ds_redis", "t_order"));
+        assertTrue(QueryCache.isDirty("ds_redis", "t_order"));
+        // 同步时不能使用redis中更小的版本号
+        assertEquals(6, QueryCache.getVersion("ds_redis", "t_order"));
+        assertTrue(QueryCache.isDirty("ds_redis", "t_order"));
+        redis.failIncrement = false;
+        // 重新增加redis版本号，返回的版本号大于本地版本号
+        assertEquals(7, QueryCache.getVersion("ds_redis", "t_order"));
+        assertFalse(QueryCache.isDirty("ds_redis", "t_order"));
+        assertEquals(Long.valueOf(7), redis.values.get(key));
+    }
+
+    @Test
+    public void redisVersionReset() {
+        final FakeVersionRedis redis = initWithRedis();
+        final String key = "query-cache:version:ds_reset:t_order";
+        redis.values.put(key, 5L);
+        assertEquals(5, QueryCache.getVersion("ds_reset", "t_order"));
+        redis.values.clear();
+        redis.failIncrement = true;
+        assertEquals(5, QueryCache.getVersion("ds_reset", "t_order"));
+        assertTrue(QueryCache.isDirty("ds_reset", "t_order"));
+        redis.failIncrement = false;
+        // INCR 返回的版本号不大于本地版本号时使用 INCRBY 跳过已经使用过的版本号
+        assertFalse(QueryCache.isDirty("ds_reset", "t_order"));
+        assertEquals(6, QueryCache.getVersion("ds_reset", "t_order"));
+        assertEquals(Long.valueOf(6), redis.values.get(key));
+    }
+
+    private static FakeVersionRedis initWithRedis() {
+        QueryCacheConfig config = new QueryCacheConfig();
+        config.setEnable(true);
+        config.setKeyPrefix("query-cache:");
+        config.setVersionRefresh(Duration.ZERO);
+        FakeVersionRedis redis = new FakeVersionRedis();
+        QueryCache.init(config, redis, null);
+        return redis;
+    }
+
+    /**
+     * 只支持 get、increment 的redis版本号存储
+     */
+    private static class FakeVersionRedis extends StringRedisTemplate {
+        private final Map<String, Long> values = new ConcurrentHashMap<>();
+        private volatile boolean failIncrement;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ValueOperations.class}, (proxy, method, args) -> {
+                final String key = (String) args[0];
+                switch (method.getName()) {
+                    case "get":
+                        Long value = values.get(key);
+                        return value == null ? null : String.valueOf(value);
+                    case "increment":
+                        if (failIncrement) {
+                            throw new IllegalStateException("redis 连接失败");
+                        }
+                        return values.merge(key, args.length > 1 ? (Long) args[1] : 1L, Long::sum);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+}
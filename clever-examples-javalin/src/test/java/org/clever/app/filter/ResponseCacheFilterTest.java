@@ -0,0 +1,154 @@
+package org.clever.app.filter;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.clever.app.config.ResponseCacheConfig;
+import org.clever.app.web.CacheResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 11:20 <br/>
+ */
+public class ResponseCacheFilterTest {
+    private static final String PATH = "/api/app/MvcTest@t01";
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(new ResponseCacheConfig(), "/api/", Collections.emptyList(), "authorization");
+
+    @CacheResponse
+    public static void perUser() {
+    }
+
+    @CacheResponse(shared = true)
+    public static void shared() {
+    }
+
+    private static CacheResponse cacheResponse(String methodName) throws Exception {
+        return ResponseCacheFilterTest.class.getMethod(methodName).getAnnotation(CacheResponse.class);
+    }
+
+    /**
+     * 只实现 buildKey 用到的方法
+     */
+    private static HttpServletRequest request(Map<String, String> headers, Cookie[] cookies, Principal principal) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+            ResponseCacheFilterTest.class.getClassLoader(),
+            new Class[]{HttpServletRequest.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getParameterMap" -> Map.of("a", new String[]{"1"});
+                case "getParameterValues" -> "a".equals(args[0]) ? new String[]{"1"} : null;
+                case "getHeader" -> headers.get((String) args[0]);
+                case "getCookies" -> cookies;
+                case "getUserPrincipal" -> principal;
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    @Test
+    public void keyContainsUser() throws Exception {
+        final CacheResponse cacheResponse = cacheResponse("perUser");
+        final String anonymous = filter.buildKey(PATH, request(Map.of(), null, null), cacheResponse);
+        final String user1 = filter.buildKey(PATH, request(Map.of("authorization", "token-1"), null, null), cacheResponse);
+        final String user2 = filter.buildKey(PATH, request(Map.of("authorization", "token-2"), null, null), cacheResponse);
+        final String user1Cookie = filter.buildKey(PATH, request(Map.of(), new Cookie[]{new Cookie("authorization", "token-1")}, null), cacheResponse);
+        assertNotEquals(anonymous, user1);
+        assertNotEquals(user1, user2);
+        assertEquals(user1, filter.buildKey(PATH, request(Map.of("authorization", "token-1"), null, null), cacheResponse));
+        assertEquals(user1, user1Cookie);
+        // 缓存key中不包含原始的登录凭证
+        assertFalse(user1.contains("token-1"));
+    }
+
+    @Test
+    public void keyContainsPrincipal() throws Exception {
+        final CacheResponse cacheResponse = cacheResponse("perUser");
+        final String admin = filter.buildKey(PATH, request(Map.of(), null, () -> "admin"), cacheResponse);
+        final String guest = filter.buildKey(PATH, request(Map.of(), null, () -> "guest"), cacheResponse);
+        assertNotEquals(admin, guest);
+        // Principal 优先于登录凭证
+        assertEquals(admin, filter.buildKey(PATH, request(Map.of("authorization", "token-1"), null, () -> "admin"), cacheResponse));
+    }
+
+    @Test
+    public void sharedKey() throws Exception {
+        final CacheResponse cacheResponse = cacheResponse("shared");
+        final String anonymous = filter.buildKey(PATH, request(Map.of(), null, null), cacheResponse);
+        assertEquals(anonymous, filter.buildKey(PATH, request(Map.of("authorization", "token-1"), null, null), cacheResponse));
+        assertEquals(anonymous, filter.buildKey(PATH, request(Map.of(), null, () -> "admin"), cacheResponse));
+    }
+
+    @Test
+    public void reloadHandlerClass() {
+        final ResponseCacheFilter.PackageMapping mapping = new ResponseCacheFilter.PackageMapping();
+        mapping.setPathPrefix("/test");
+        mapping.setPackagePrefix("org.clever.app.filter");
+        final ResponseCacheFilter filter = new ResponseCacheFilter(new ResponseCacheConfig(), "/api/", List.of(mapping), "authorization");
+        final String path = "/api/test/ResponseCacheFilterTest$Handlers@cached";
+        final Thread thread = Thread.currentThread();
+        final ClassLoader original = thread.getContextClassLoader();
+        try {
+            final Optional<CacheResponse> first = filter.getCacheResponse(path);
+            assertEquals(30, first.orElseThrow().ttl());
+            assertSame(first.orElseThrow(), filter.getCacheResponse(path).orElseThrow());
+            // 使用新的类加载器重新加载处理函数所在的类
+            thread.setContextClassLoader(new ReloadingClassLoader(original, Handlers.class.getName()));
+            final Optional<CacheResponse> reloaded = filter.getCacheResponse(path);
+            assertEquals(30, reloaded.orElseThrow().ttl());
+            assertNotSame(first.orElseThrow(), reloaded.orElseThrow());
+            assertSame(reloaded.orElseThrow(), filter.getCacheResponse(path).orElseThrow());
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    public static class Handlers {
+        @CacheResponse(ttl = 30)
+        public static void cached() {
+        }
+    }
+
+    /**
+     * 模拟热重载: 指定的类由当前类加载器重新定义
+     */
+    private static class ReloadingClassLoader extends ClassLoader {
+        private final String className;
+
+        private ReloadingClassLoader(ClassLoader parent, String className) {
+            super(parent);
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        if (in == null) {
+                            throw new ClassNotFoundException(name);
+                        }
+                        final byte[] bytes = in.readAllBytes();
+                        clazz = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return clazz;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.clever.app.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 12:10 <br/>
+ */
+public class KeysetPaginationTest {
+    private static final String SQL = "select * from asn_in where update_at>=:updateAt";
+
+    @Test
+    public void firstPage() {
+        KeysetPagination pagination = KeysetPagination.of(SQL).desc("update_at").desc("id");
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t order by update_at desc, id desc limit :keyset_limit",
+            pagination.buildSql(KeysetPagination.Dialect.MYSQL, false)
+        );
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t order by update_at desc, id desc fetch first :keyset_limit rows only",
+            pagination.buildSql(KeysetPagination.Dialect.ORACLE, false)
+        );
+    }
+
+    @Test
+    public void rowValueSeek() {
+        KeysetPagination pagination = KeysetPagination.of(SQL).desc("update_at").desc("id");
+        final String expected = "select * from (" + SQL + ") keyset_t where (update_at, id) < (:keyset_0, :keyset_1) order by update_at desc, id desc limit :keyset_limit";
+        assertEquals(expected, pagination.buildSql(KeysetPagination.Dialect.MYSQL, true));
+        assertEquals(expected, pagination.buildSql(KeysetPagination.Dialect.POSTGRESQL, true));
+        KeysetPagination asc = KeysetPagination.of(SQL).asc("update_at").asc("id");
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t where (update_at, id) > (:keyset_0, :keyset_1) order by update_at asc, id asc limit :keyset_limit",
+            asc.buildSql(KeysetPagination.Dialect.POSTGRESQL, true)
+        );
+    }
+
+    @Test
+    public void expandedSeek() {
+        KeysetPagination pagination = KeysetPagination.of(SQL).desc("update_at").desc("id");
+        final String predicate = "update_at <= :keyset_0 and ((update_at < :keyset_0) or (update_at = :keyset_0 and id < :keyset_1))";
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t where " + predicate + " order by update_at desc, id desc fetch first :keyset_limit rows only",
+            pagination.buildSql(KeysetPagination.Dialect.ORACLE, true)
+        );
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t where " + predicate + " order by update_at desc, id desc limit :keyset_limit",
+            pagination.buildSql(KeysetPagination.Dialect.OTHER, true)
+        );
+    }
+
+    @Test
+    public void mixedDirectionSeek() {
+        // 排序方向不一致时不能使用行值比较
+        KeysetPagination pagination = KeysetPagination.of(SQL).desc("update_at").asc("id");
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t where update_at <= :keyset_0 and ((update_at < :keyset_0) or (update_at = :keyset_0 and id > :keyset_1))"
+                + " order by update_at desc, id asc limit :keyset_limit",
+            pagination.buildSql(KeysetPagination.Dialect.MYSQL, true)
+        );
+    }
+
+    @Test
+    public void singleColumnSeek() {
+        KeysetPagination pagination = KeysetPagination.of(SQL).asc("id");
+        assertEquals(
+            "select * from (" + SQL + ") keyset_t where (id > :keyset_0) order by id asc limit :keyset_limit",
+            pagination.buildSql(KeysetPagination.Dialect.POSTGRESQL, true)
+        );
+    }
+
+    @Test
+    public void invalidColumn() {
+        assertThrows(RuntimeException.class, () -> KeysetPagination.of(SQL).desc("id; drop table asn_in"));
+        assertThrows(RuntimeException.class, () -> KeysetPagination.of(SQL).asc("a.id"));
+    }
+}
@@ -0,0 +1,195 @@
+package org.clever.app.jdbc;
+
+import org.clever.app.config.SpillConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 12:30 <br/>
+ */
+public class SpillableRowsTest {
+    private static final int ROWS = 2000;
+    private static final String SQL = "select id, name, amount, status, create_at from spill_test order by id";
+
+    @TempDir
+    static Path rootPath;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    public static void init() {
+        SpillConfig config = new SpillConfig();
+        config.setMemoryThreshold(DataSize.ofKilobytes(8));
+        config.setDirectory("spill");
+        SpillableRows.init(rootPath.toString(), config);
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:spill_test;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("create table spill_test(id bigint primary key, name varchar(64), amount decimal(12,2), status int, create_at timestamp)");
+        List<Object[]> args = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            args.add(new Object[]{
+                (long) i,
+                "名称-" + i,
+                i % 7 == 0 ? null : new BigDecimal(i).movePointLeft(2),
+                i % 3,
+                new Timestamp(Timestamp.valueOf("2023-11-23 11:50:19").getTime() + i * 1000L),
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into spill_test(id, name, amount, status, create_at) values (?, ?, ?, ?, ?)", args, new int[]{
+            java.sql.Types.BIGINT, java.sql.Types.VARCHAR, java.sql.Types.DECIMAL, java.sql.Types.INTEGER, java.sql.Types.TIMESTAMP,
+        });
+    }
+
+    @AfterAll
+    public static void destroy() {
+        jdbcTemplate.execute("drop table spill_test");
+        SpillableRows.init(rootPath.toString(), new SpillConfig());
+    }
+
+    private static SpillableRows query() {
+        return SpillableRows.query(handler -> jdbcTemplate.query(SQL, handler));
+    }
+
+    private static long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(rootPath.resolve("spill"))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void readAcrossSpill() throws IOException {
+        final List<Map<String, Object>> expected = jdbcTemplate.queryForList(SQL);
+        try (SpillableRows rows = query()) {
+            assertTrue(rows.isSpilled(), "数据超过 memoryThreshold 时需要写入临时文件");
+            assertEquals(1, spillFiles());
+            assertEquals(ROWS, rows.size());
+            assertEquals(List.of("ID", "NAME", "AMOUNT", "STATUS", "CREATE_AT"), rows.getColumns());
+            // 迭代器与 forEachRow 都能读取写入临时文件前后的数据
+            int index = 0;
+            for (Map<String, Object> row : rows) {
+                assertRow(expected.get(index++), row);
+            }
+            assertEquals(ROWS, index);
+            final int[] count = new int[1];
+            rows.forEachRow(values -> {
+                assertEquals((long) count[0], ((Number) values[0]).longValue());
+                count[0]++;
+            });
+            assertEquals(ROWS, count[0]);
+            // 可以重复读取
+            assertRow(expected.get(0), rows.iterator().next());
+        }
+        assertEquals(0, spillFiles(), "关闭后需要删除临时文件");
+    }
+
+    @Test
+    public void sortedAndGroupBy() {
+        try (SpillableRows rows = query()) {
+            final List<Object> amounts = new ArrayList<>();
+            rows.sorted("amount", true).forEachRow(values -> amounts.add(values[2]));
+            assertEquals(ROWS, amounts.size());
+            final int nonNull = (int) amounts.stream().filter(Objects::nonNull).count();
+            for (int i = 1; i < nonNull; i++) {
+                assertTrue(((BigDecimal) amounts.get(i - 1)).compareTo((BigDecimal) amounts.get(i)) >= 0);
+            }
+            // null值排在最后
+            for (int i = nonNull; i < ROWS; i++) {
+                assertNull(amounts.get(i));
+            }
+            final Map<Object, SpillableRows> groups = rows.groupBy("status");
+            assertEquals(3, groups.size());
+            long total = 0;
+            for (Map.Entry<Object, SpillableRows> entry : groups.entrySet()) {
+                final int status = ((Number) entry.getKey()).intValue();
+                final long[] previous = new long[]{-1};
+                entry.getValue().forEachRow(values -> {
+                    final long id = ((Number) values[0]).longValue();
+                    assertEquals(status, id % 3);
+                    // 分组后保持原有顺序
+                    assertTrue(id > previous[0]);
+                    previous[0] = id;
+                });
+                total += entry.getValue().size();
+            }
+            assertEquals(ROWS, total);
+        }
+    }
+
+    @Test
+    public void inMemory() throws IOException {
+        try (SpillableRows rows = SpillableRows.query(handler -> jdbcTemplate.query(SQL.replace("order by id", "where id < 10 order by id"), handler))) {
+            assertFalse(rows.isSpilled());
+            assertEquals(10, rows.size());
+            assertEquals(0, spillFiles());
+        }
+    }
+
+    @Test
+    public void typesRoundTrip() {
+        final Object[] values = new Object[]{
+            7, (short) 8, (byte) 9, 10L, new BigDecimal("1.50"), new BigInteger("123456789012345678901234567890"),
+            java.sql.Time.valueOf("12:34:56"), java.sql.Date.valueOf("2023-11-23"), Timestamp.valueOf("2023-11-23 11:50:19.123456789"),
+            new Date(1700711419123L), LocalDate.of(2023, 11, 23), LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000), LocalTime.of(12, 34, 56, 789),
+        };
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> values.length;
+            case "getColumnLabel", "getColumnName" -> "c" + args[0];
+            case "getColumnClassName" -> values[(Integer) args[0] - 1].getClass().getName();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        final ResultSet rs = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "getMetaData" -> metaData;
+            case "getObject" -> values[(Integer) args[0] - 1];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        // 行数足够多，数据写入临时文件
+        try (SpillableRows rows = SpillableRows.query(handler -> {
+            for (int i = 0; i < 200; i++) {
+                try {
+                    handler.processRow(rs);
+                } catch (java.sql.SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        })) {
+            assertTrue(rows.isSpilled());
+            rows.forEachRow(decoded -> {
+                for (int i = 0; i < values.length; i++) {
+                    // 读取时返回与写入时相同的Java类型
+                    assertEquals(values[i].getClass(), decoded[i].getClass());
+                    assertEquals(values[i], decoded[i]);
+                }
+            });
+        }
+    }
+
+    private static void assertRow(Map<String, Object> expected, Map<String, Object> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        assertEquals(((Number) expected.get("ID")).longValue(), ((Number) actual.get("ID")).longValue());
+        assertEquals(expected.get("NAME"), actual.get("NAME"));
+        assertEquals(expected.get("AMOUNT"), actual.get("AMOUNT"));
+        assertEquals(((Number) expected.get("STATUS")).intValue(), ((Number) actual.get("STATUS")).intValue());
+        assertEquals(expected.get("CREATE_AT"), actual.get("CREATE_AT"));
+    }
+}
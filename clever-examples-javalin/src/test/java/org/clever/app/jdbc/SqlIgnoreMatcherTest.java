@@ -0,0 +1,98 @@
+package org.clever.app.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 11:40 <br/>
+ */
+public class SqlIgnoreMatcherTest {
+    @Test
+    public void exactAndContains() {
+        SqlIgnoreMatcher matcher = new SqlIgnoreMatcher(
+            List.of("select 1", "select now()"),
+            List.of("from dual", "qrtz_")
+        );
+        // ignore-sql 完全匹配
+        assertTrue(matcher.matches("select 1"));
+        assertTrue(matcher.matches("select now()"));
+        assertFalse(matcher.matches("select 1 from t_user"));
+        assertFalse(matcher.matches("select 12"));
+        assertFalse(matcher.matches("/* x */ select 1"));
+        // ignore-contains-sql 包含匹配
+        assertTrue(matcher.matches("select sysdate from dual"));
+        assertTrue(matcher.matches("update qrtz_triggers set state='WAITING'"));
+        assertFalse(matcher.matches("select * from t_user"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void ignoreCaseAndWhitespace() {
+        SqlIgnoreMatcher matcher = new SqlIgnoreMatcher(List.of("  SELECT 1  "), List.of("from\tdual"));
+        assertTrue(matcher.matches("select 1"));
+        assertTrue(matcher.matches("\n  Select 1\t"));
+        assertTrue(matcher.matches("SELECT SYSDATE\nFROM DUAL"));
+        assertFalse(matcher.matches("select  1"));
+    }
+
+    @Test
+    public void empty() {
+        SqlIgnoreMatcher matcher = new SqlIgnoreMatcher(List.of(" ", ""), List.of(""));
+        assertFalse(matcher.matches("select 1"));
+        assertFalse(matcher.matches(""));
+    }
+
+    /**
+     * 与逐个 equals/contains 的结果对比(字符集很小，失败指针会频繁跳转)
+     */
+    @Test
+    public void sameAsNaive() {
+        final Random random = new Random(20261019);
+        for (int round = 0; round < 200; round++) {
+            List<String> ignoreSql = new ArrayList<>();
+            List<String> ignoreContainsSql = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                ignoreSql.add(randomSql(random, 1 + random.nextInt(6)));
+            }
+            for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                ignoreContainsSql.add(randomSql(random, 1 + random.nextInt(4)));
+            }
+            SqlIgnoreMatcher matcher = new SqlIgnoreMatcher(ignoreSql, ignoreContainsSql);
+            for (int i = 0; i < 200; i++) {
+                String sql = randomSql(random, random.nextInt(12));
+                assertEquals(naive(ignoreSql, ignoreContainsSql, sql), matcher.matches(sql), "ignoreSql=" + ignoreSql + " ignoreContainsSql=" + ignoreContainsSql + " sql=" + sql);
+            }
+        }
+    }
+
+    private static String randomSql(Random random, int length) {
+        final String chars = "abAB ";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return sb.toString();
+    }
+
+    private static boolean naive(List<String> ignoreSql, List<String> ignoreContainsSql, String sql) {
+        final String target = sql.trim().toLowerCase(Locale.ROOT);
+        for (String item : ignoreSql) {
+            if (!item.isBlank() && item.trim().toLowerCase(Locale.ROOT).equals(target)) {
+                return true;
+            }
+        }
+        for (String item : ignoreContainsSql) {
+            if (!item.isEmpty() && target.contains(item.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
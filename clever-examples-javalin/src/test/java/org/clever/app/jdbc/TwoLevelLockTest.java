@@ -0,0 +1,152 @@
+package org.clever.app.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 10:40 <br/>
+ */
+public class TwoLevelLockTest {
+    /**
+     * 模拟数据库原生锁，记录调用次数和同时占用的连接数
+     */
+    private static class CountingNativeLock implements TwoLevelLock.NativeLock {
+        private final ReentrantLock serverLock = new ReentrantLock(true);
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger maxConnections = new AtomicInteger();
+
+        @Override
+        public void lock(String lockName, Runnable syncBlock) {
+            calls.incrementAndGet();
+            maxConnections.accumulateAndGet(connections.incrementAndGet(), Math::max);
+            try {
+                serverLock.lock();
+                try {
+                    syncBlock.run();
+                } finally {
+                    serverLock.unlock();
+                }
+            } finally {
+                connections.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void tryLock(String lockName, int waitSeconds, Consumer<Boolean> syncBlock) {
+            calls.incrementAndGet();
+            boolean locked;
+            try {
+                locked = serverLock.tryLock(waitSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                locked = false;
+            }
+            if (!locked) {
+                syncBlock.accept(false);
+                return;
+            }
+            try {
+                syncBlock.accept(true);
+            } finally {
+                serverLock.unlock();
+            }
+        }
+    }
+
+    @Test
+    public void lockMutualExclusion() throws Exception {
+        final int threadCount = 16;
+        final int loops = 200;
+        final CountingNativeLock nativeLock = new CountingNativeLock();
+        final TwoLevelLock twoLevelLock = new TwoLevelLock(nativeLock);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final int[] counter = new int[1];
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < loops; j++) {
+                        twoLevelLock.lock("test", () -> {
+                            if (running.incrementAndGet() > 1) {
+                                overlapped.set(true);
+                            }
+                            counter[0]++;
+                            running.decrementAndGet();
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(overlapped.get(), "同步代码块被并发执行");
+        assertEquals(threadCount * loops, counter[0]);
+        // 本地排队，同一个key同一时刻最多占用一个连接
+        assertEquals(1, nativeLock.maxConnections.get());
+    }
+
+    @Test
+    public void reentrant() {
+        final CountingNativeLock nativeLock = new CountingNativeLock();
+        final TwoLevelLock twoLevelLock = new TwoLevelLock(nativeLock);
+        final AtomicInteger executed = new AtomicInteger();
+        twoLevelLock.lock("test", () -> {
+            assertTrue(twoLevelLock.isHeldByCurrentThread("test"));
+            twoLevelLock.lock("test", executed::incrementAndGet);
+            twoLevelLock.tryLock("test", 0, locked -> {
+                assertTrue(locked);
+                executed.incrementAndGet();
+            });
+        });
+        assertEquals(2, executed.get());
+        assertEquals(1, nativeLock.calls.get());
+        assertFalse(twoLevelLock.isHeldByCurrentThread("test"));
+    }
+
+    @Test
+    public void tryLockTimeout() throws Exception {
+        final CountingNativeLock nativeLock = new CountingNativeLock();
+        final TwoLevelLock twoLevelLock = new TwoLevelLock(nativeLock);
+        final CountDownLatch holding = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> twoLevelLock.lock("test", () -> {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(holding.await(10, TimeUnit.SECONDS));
+            final AtomicBoolean result = new AtomicBoolean(true);
+            twoLevelLock.tryLock("test", 0, result::set);
+            assertFalse(result.get());
+            // 本地等待超时，不会请求数据库锁
+            assertEquals(1, nativeLock.calls.get());
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            twoLevelLock.tryLock("test", 0, result::set);
+            assertTrue(result.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -23,9 +23,12 @@ dependencies {
     api("org.jetbrains.kotlin:kotlin-stdlib-jdk7")
     api("org.jetbrains.kotlin:kotlin-stdlib-jdk8")
     api("org.jetbrains.kotlin:kotlin-reflect")
+    api("com.github.ben-manes.caffeine:caffeine")
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("mysql:mysql-connector-java")
     runtimeOnly("com.oracle.database.jdbc:ojdbc8")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess")
+    testRuntimeOnly("com.h2database:h2")
 }
 
 sourceSets {
@@ -116,6 +119,21 @@ tasks.getByName("classes") {
     }
 }
 
+// 运行JMH性能测试(./gradlew :clever-examples-spring:jmh -PjmhArgs="RequestPathBenchmark")
+tasks.register("jmh", JavaExec::class) {
+    group = "benchmark"
+    dependsOn("testClasses")
+    workingDir = projectDir
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = sourceSets.test.get().runtimeClasspath
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    val jmhArgs = (project.findProperty("jmhArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: listOf()
+    args = jmhArgs + listOf("-rf", "json", "-rff", resultFile.absolutePath)
+    doFirst {
+        resultFile.parentFile.mkdirs()
+    }
+}
+
 tasks.getByName("build") {
     dependsOn("copyJar")
     dependsOn("copyResources")
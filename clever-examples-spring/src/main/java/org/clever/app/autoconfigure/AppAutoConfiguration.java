@@ -1,6 +1,7 @@
 package org.clever.app.autoconfigure;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
 import io.javalin.config.JavalinConfig;
 import io.javalin.json.JavalinJackson;
 import io.javalin.json.JsonMapper;
@@ -12,9 +13,41 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.clever.app.cache.QueryCache;
+import org.clever.app.config.AdaptivePoolConfig;
+import org.clever.app.config.AsyncEchoConfig;
+import org.clever.app.config.FilterPipelineConfig;
+import org.clever.app.config.JdbcFanOutConfig;
+import org.clever.app.config.P6SpyLogConfig;
+import org.clever.app.config.QueryCacheConfig;
+import org.clever.app.config.ReadReplicaConfig;
+import org.clever.app.config.SpillConfig;
+import org.clever.app.config.SqlMetricsConfig;
+import org.clever.app.config.SqlParseCacheConfig;
+import org.clever.app.filter.AsyncEchoFilter;
+import org.clever.app.filter.CleverFilterChain;
+import org.clever.app.filter.CompiledFilterPipeline;
+import org.clever.app.filter.ConnectionHoldFilter;
+import org.clever.app.filter.FilterPathRules;
+import org.clever.app.filter.MetricsFilter;
+import org.clever.app.filter.ResponseCacheFilter;
+import org.clever.app.filter.StaticAssetFilter;
+import org.clever.app.jdbc.AdaptivePoolController;
+import org.clever.app.jdbc.AsyncSqlLogger;
+import org.clever.app.jdbc.HikariPools;
+import org.clever.app.jdbc.JdbcFanOut;
+import org.clever.app.jdbc.ReadReplicas;
+import org.clever.app.jdbc.SpillableRows;
+import org.clever.app.jdbc.SqlParseCache;
+import org.clever.app.metrics.HikariPoolMetrics;
+import org.clever.app.metrics.SqlStats;
+import org.clever.app.thread.VirtualThreadPinnedMonitor;
+import org.clever.app.web.StaticAssets;
 import org.clever.core.AppBasicsConfig;
 import org.clever.core.AppContextHolder;
+import org.clever.core.AppShutdownHook;
 import org.clever.core.Assert;
+import org.clever.core.OrderIncrement;
 import org.clever.core.ResourcePathUtils;
 import org.clever.core.json.jackson.JacksonConfig;
 import org.clever.core.reflection.ReflectionsUtils;
@@ -34,7 +67,10 @@ import org.clever.web.config.WebConfig;
 import org.clever.web.filter.*;
 import org.clever.web.utils.ApplyWebConfig;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.system.JavaVersion;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -68,6 +104,21 @@ public class AppAutoConfiguration {
     public JdbcBootstrap jdbcBootstrap(AppBasicsConfig appBasicsConfig) {
         JdbcBootstrap jdbcBootstrap = JdbcBootstrap.create(appBasicsConfig.getRootPath(), environment);
         jdbcBootstrap.init();
+        SqlParseCache.init(SqlParseCacheConfig.create(environment));
+        SqlStats.init(SqlMetricsConfig.create(environment));
+        ReadReplicas.init(ReadReplicaConfig.create(environment));
+        JdbcFanOut.init(JdbcFanOutConfig.create(environment));
+        AppShutdownHook.addShutdownHook(JdbcFanOut::shutdown, OrderIncrement.NORMAL, "停止并行查询执行器");
+        SpillableRows.init(appBasicsConfig.getRootPath(), SpillConfig.create(environment));
+        final Map<String, HikariDataSource> hikariPools = HikariPools.getAll(environment);
+        hikariPools.forEach(HikariPoolMetrics::register);
+        final AdaptivePoolConfig adaptivePoolConfig = AdaptivePoolConfig.create(environment);
+        if (adaptivePoolConfig.isEnable()) {
+            AdaptivePoolController adaptivePoolController = AdaptivePoolController.start(adaptivePoolConfig, hikariPools);
+            AppShutdownHook.addShutdownHook(adaptivePoolController::close, OrderIncrement.NORMAL, "停止连接池大小自适应");
+        }
+        AsyncSqlLogger.init(P6SpyLogConfig.create(environment));
+        AppShutdownHook.addShutdownHook(AsyncSqlLogger::shutdown, OrderIncrement.NORMAL, "停止异步SQL日志");
         return jdbcBootstrap;
     }
 
@@ -75,6 +126,7 @@ public class AppAutoConfiguration {
     public RedisBootstrap redisBootstrap() {
         RedisBootstrap redisBootstrap = RedisBootstrap.create(environment);
         redisBootstrap.init();
+        QueryCache.init(QueryCacheConfig.create(environment));
         return redisBootstrap;
     }
 
@@ -119,6 +171,17 @@ public class AppAutoConfiguration {
         return webConfig;
     }
 
+    /**
+     * 虚拟线程pinned检测(web.use-virtual-threads=true, 需要jdk21+)。
+     * Tomcat使用虚拟线程由 spring.threads.virtual.enabled 配置
+     */
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    @ConditionalOnProperty(prefix = WebConfig.PREFIX, name = "use-virtual-threads", havingValue = "true")
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinnedMonitor virtualThreadPinnedMonitor() {
+        return new VirtualThreadPinnedMonitor(VirtualThreadPinnedMonitor.DEFAULT_THRESHOLD);
+    }
+
     // @Bean
     // @ConditionalOnMissingBean(MultipartConfigElement.class)
     public MultipartConfigElement multipartConfigElement(AppBasicsConfig appBasicsConfig, WebConfig webConfig) {
@@ -152,6 +215,8 @@ public class AppAutoConfiguration {
     // 🡓
     // EchoFilter (请求日志)
     // 🡓
+    // ConnectionHoldFilter (统计请求占用数据库连接的时间)
+    // 🡓
     // ExceptionHandlerFilter (异常处理)
     // 🡓
     // GlobalRequestParamsFilter (获取全局请求参数)
@@ -171,8 +236,11 @@ public class AppAutoConfiguration {
     // StaticResourceFilter (静态资源)
     // 🡓
     // MvcFilter (MVC功能)
+    //
+    // web.filter-pipeline.enable=true 时使用一个 CleverFilterChain 代替上面的过滤器链
     // --------------------------------------------------------------------------------------------
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> applyConfigFilter(AppBasicsConfig appBasicsConfig, WebConfig webConfig) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -183,16 +251,45 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    /**
+     * 请求日志(web.echo.async.enable=true 时使用 AsyncEchoFilter，关闭时会停止后台线程)
+     */
+    @Bean
+    public FilterRegistrar.FilterFuc rawEchoFilter() {
+        if (AsyncEchoConfig.create(environment).isEnable()) {
+            return AsyncEchoFilter.create(environment);
+        }
+        return EchoFilter.create(environment);
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> echoFilter() {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
         filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 200);
         filterBean.addUrlPatterns(PathConstants.ALL);
         filterBean.setName("EchoFilter");
-        filterBean.setFilter(new FilterAdapter(EchoFilter.create(environment)));
+        filterBean.setFilter(new FilterAdapter(rawEchoFilter()));
+        return filterBean;
+    }
+
+    @Bean
+    public ConnectionHoldFilter rawConnectionHoldFilter() {
+        return ConnectionHoldFilter.create(environment);
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
+    @Bean
+    public FilterRegistrationBean<HttpFilter> connectionHoldFilter(ConnectionHoldFilter connectionHoldFilter) {
+        FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
+        filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 250);
+        filterBean.addUrlPatterns(PathConstants.ALL);
+        filterBean.setName("ConnectionHoldFilter");
+        filterBean.setFilter(new FilterAdapter(connectionHoldFilter));
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> exceptionHandlerFilter() {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -203,6 +300,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> globalRequestParamsFilter() {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -218,6 +316,7 @@ public class AppAutoConfiguration {
         return CorsFilter.create(environment);
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> corsFilter(CorsFilter corsFilter) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -228,6 +327,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> mvcHandlerMethodFilter(MvcBootstrap mvcBootstrap) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -238,6 +338,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> authenticationFilter(SecurityBootstrap securityBootstrap) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -248,6 +349,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> loginFilter(SecurityBootstrap securityBootstrap) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -258,6 +360,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> logoutFilter(SecurityBootstrap securityBootstrap) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -268,6 +371,7 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> authorizationFilter(SecurityBootstrap securityBootstrap) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -278,11 +382,49 @@ public class AppAutoConfiguration {
         return filterBean;
     }
 
+    @Bean
+    public MetricsFilter rawMetricsFilter() {
+        return MetricsFilter.create(environment);
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
+    @Bean
+    public FilterRegistrationBean<HttpFilter> metricsFilter(MetricsFilter metricsFilter) {
+        FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
+        filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1020);
+        filterBean.addUrlPatterns(PathConstants.ALL);
+        filterBean.setName("MetricsFilter");
+        filterBean.setFilter(new FilterAdapter(metricsFilter));
+        return filterBean;
+    }
+
+    @Bean(destroyMethod = "close")
+    public StaticAssets staticAssets(AppBasicsConfig appBasicsConfig) {
+        return StaticAssets.create(appBasicsConfig.getRootPath(), environment);
+    }
+
+    @Bean
+    public StaticAssetFilter rawStaticAssetFilter(StaticAssets staticAssets) {
+        return new StaticAssetFilter(staticAssets);
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
+    @Bean
+    public FilterRegistrationBean<HttpFilter> staticAssetFilter(StaticAssetFilter staticAssetFilter) {
+        FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
+        filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1050);
+        filterBean.addUrlPatterns(PathConstants.ALL);
+        filterBean.setName("StaticAssetFilter");
+        filterBean.setFilter(new FilterAdapter(staticAssetFilter));
+        return filterBean;
+    }
+
     @Bean
     public StaticResourceFilter rawStaticResourceFilter(AppBasicsConfig appBasicsConfig) {
         return StaticResourceFilter.create(appBasicsConfig.getRootPath(), environment);
     }
 
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
     @Bean
     public FilterRegistrationBean<HttpFilter> staticResourceFilter(StaticResourceFilter staticResourceFilter) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
@@ -294,7 +436,23 @@ public class AppAutoConfiguration {
     }
 
     @Bean
-    public FilterRegistrationBean<HttpFilter> mvcFilter(AppBasicsConfig appBasicsConfig, WebConfig webConfig, MvcBootstrap mvcBootstrap, ObjectMapper webServerMapper) {
+    public ResponseCacheFilter rawResponseCacheFilter() {
+        return ResponseCacheFilter.create(environment);
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
+    @Bean
+    public FilterRegistrationBean<HttpFilter> responseCacheFilter(ResponseCacheFilter responseCacheFilter) {
+        FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
+        filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1150);
+        filterBean.addUrlPatterns(PathConstants.ALL);
+        filterBean.setName("ResponseCacheFilter");
+        filterBean.setFilter(new FilterAdapter(responseCacheFilter));
+        return filterBean;
+    }
+
+    @Bean
+    public MvcFilter rawMvcFilter(AppBasicsConfig appBasicsConfig, WebConfig webConfig, MvcBootstrap mvcBootstrap, ObjectMapper webServerMapper) {
         JacksonConfig jackson = Optional.ofNullable(webConfig.getJackson()).orElseGet(() -> {
             webConfig.setJackson(new JacksonConfig());
             return webConfig.getJackson();
@@ -316,13 +474,62 @@ public class AppAutoConfiguration {
         AppContextHolder.registerBean("javalinJsonMapper", jsonMapper, true);
         AppContextHolder.registerBean("javalinObjectMapper", webServerMapper, true);
         // 创建 MvcFilter
+        MvcFilter mvcFilter = mvcBootstrap.getMvcFilter();
+        mvcFilter.onStart(javalinConfig);
+        return mvcFilter;
+    }
+
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "false", matchIfMissing = true)
+    @Bean
+    public FilterRegistrationBean<HttpFilter> mvcFilter(MvcFilter rawMvcFilter) {
         FilterRegistrationBean<HttpFilter> filterBean = new FilterRegistrationBean<>();
         filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1200);
         filterBean.addUrlPatterns(PathConstants.ALL);
         filterBean.setName("MvcFilter");
-        MvcFilter mvcFilter = mvcBootstrap.getMvcFilter();
-        mvcFilter.onStart(javalinConfig);
-        filterBean.setFilter(new FilterAdapter(mvcFilter));
+        filterBean.setFilter(new FilterAdapter(rawMvcFilter));
+        return filterBean;
+    }
+
+    /**
+     * 使用一个servlet过滤器按顺序执行所有clever的Filter(代替上面的FilterRegistrationBean)
+     */
+    @ConditionalOnProperty(prefix = FilterPipelineConfig.PREFIX, name = "enable", havingValue = "true")
+    @Bean
+    public FilterRegistrationBean<CleverFilterChain> cleverFilterChain(AppBasicsConfig appBasicsConfig,
+                                                                       WebConfig webConfig,
+                                                                       MvcBootstrap mvcBootstrap,
+                                                                       SecurityBootstrap securityBootstrap,
+                                                                       ConnectionHoldFilter connectionHoldFilter,
+                                                                       CorsFilter corsFilter,
+                                                                       MetricsFilter metricsFilter,
+                                                                       StaticAssetFilter staticAssetFilter,
+                                                                       StaticResourceFilter staticResourceFilter,
+                                                                       ResponseCacheFilter responseCacheFilter,
+                                                                       MvcFilter rawMvcFilter) {
+        FilterPipelineConfig filterPipelineConfig = FilterPipelineConfig.create(environment);
+        FilterPathRules rules = new FilterPathRules(environment);
+        CompiledFilterPipeline pipeline = new CompiledFilterPipeline(filterPipelineConfig.getMaxCachedPaths())
+            .addFilter(ApplyConfigFilter.create(appBasicsConfig.getRootPath(), webConfig), "ApplyConfigFilter", rules.all())
+            .addFilter(rawEchoFilter(), "EchoFilter", rules.echo())
+            .addFilter(connectionHoldFilter, "ConnectionHoldFilter", rules.connectionHold())
+            .addFilter(ExceptionHandlerFilter.INSTANCE, "ExceptionHandlerFilter", rules.all())
+            .addFilter(GlobalRequestParamsFilter.INSTANCE, "GlobalRequestParamsFilter", rules.all())
+            .addFilter(corsFilter, "CorsFilter", rules.all())
+            .addFilter(mvcBootstrap.getMvcHandlerMethodFilter(), "MvcHandlerMethodFilter", rules.mvc())
+            .addFilter(securityBootstrap.getAuthenticationFilter(), "AuthenticationFilter", rules.security())
+            .addFilter(securityBootstrap.getLoginFilter(), "LoginFilter", rules.security())
+            .addFilter(securityBootstrap.getLogoutFilter(), "LogoutFilter", rules.security())
+            .addFilter(securityBootstrap.getAuthorizationFilter(), "AuthorizationFilter", rules.security())
+            .addFilter(metricsFilter, "MetricsFilter", rules.metrics())
+            .addFilter(staticAssetFilter, "StaticAssetFilter", rules.staticAssets())
+            .addFilter(staticResourceFilter, "StaticResourceFilter", rules.staticResource())
+            .addFilter(responseCacheFilter, "ResponseCacheFilter", rules.responseCache())
+            .addFilter(rawMvcFilter, "MvcFilter", rules.mvc());
+        FilterRegistrationBean<CleverFilterChain> filterBean = new FilterRegistrationBean<>();
+        filterBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        filterBean.addUrlPatterns(PathConstants.ALL);
+        filterBean.setName("CleverFilterChain");
+        filterBean.setFilter(new CleverFilterChain(pipeline));
         return filterBean;
     }
 
@@ -0,0 +1,39 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 异步请求日志配置(AsyncEchoFilter)，忽略的请求路径沿用 web.echo.ignore-paths
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:10 <br/>
+ */
+@Data
+public class AsyncEchoConfig {
+    public static final String PREFIX = "web.echo.async";
+
+    public static AsyncEchoConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, AsyncEchoConfig.class).orElseGet(AsyncEchoConfig::new);
+    }
+
+    /**
+     * 是否使用 AsyncEchoFilter 替换 EchoFilter
+     */
+    private boolean enable = false;
+    /**
+     * 环形缓冲区大小(会向上取整为2的幂)，缓冲区满时丢弃日志
+     */
+    private int bufferSize = 8192;
+    /**
+     * 后台线程每批最多输出的日志条数
+     */
+    private int batchSize = 256;
+    /**
+     * 缓冲区为空时后台线程的等待时间
+     */
+    private Duration idleWait = Duration.ofMillis(5);
+}
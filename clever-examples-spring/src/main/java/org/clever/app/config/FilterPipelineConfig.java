@@ -0,0 +1,29 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * 预编译过滤器链配置
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 11:05 <br/>
+ */
+@Data
+public class FilterPipelineConfig {
+    public static final String PREFIX = "web.filter-pipeline";
+
+    public static FilterPipelineConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, FilterPipelineConfig.class).orElseGet(FilterPipelineConfig::new);
+    }
+
+    /**
+     * 是否启用预编译过滤器链(根据各个Filter的忽略路径为每个请求路径生成实际需要执行的Filter)
+     */
+    private boolean enable = false;
+    /**
+     * 缓存的请求路径数量上限(超过上限时淘汰不常用的请求路径)
+     */
+    private int maxCachedPaths = 4096;
+}
@@ -0,0 +1,31 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 多数据源并行查询配置(JdbcFanOut)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 02:20 <br/>
+ */
+@Data
+public class JdbcFanOutConfig {
+    public static final String PREFIX = "jdbc.fan-out";
+
+    public static JdbcFanOutConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, JdbcFanOutConfig.class).orElseGet(JdbcFanOutConfig::new);
+    }
+
+    /**
+     * 默认的超时时间(从创建 JdbcFanOut 开始计算，超时后取消未完成的查询)
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+    /**
+     * 不支持虚拟线程时平台线程池的大小
+     */
+    private int fallbackThreads = 32;
+}
@@ -0,0 +1,33 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * 指标导出接口配置(MetricsFilter)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+@Data
+public class MetricsExportConfig {
+    public static final String PREFIX = "web.metrics-export";
+
+    public static MetricsExportConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, MetricsExportConfig.class).orElseGet(MetricsExportConfig::new);
+    }
+
+    /**
+     * 是否启用指标导出接口
+     */
+    private boolean enable = false;
+    /**
+     * Prometheus文本格式的请求路径，JSON格式的路径为 path + ".json"
+     */
+    private String path = "/metrics";
+    /**
+     * 每个时间窗口最多导出的SQL数量(按总耗时倒序)
+     */
+    private int topSql = 50;
+}
@@ -0,0 +1,61 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * p6spy SQL日志配置(AsyncSqlLogger)，与clever的 jdbc.p6spylog 使用同一个配置前缀
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+@Data
+public class P6SpyLogConfig {
+    public static final String PREFIX = "jdbc.p6spylog";
+
+    public static P6SpyLogConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, P6SpyLogConfig.class).orElseGet(P6SpyLogConfig::new);
+    }
+
+    /**
+     * 完全匹配时忽略的SQL
+     */
+    private List<String> ignoreSql = new ArrayList<>();
+    /**
+     * 包含时忽略的SQL
+     */
+    private List<String> ignoreContainsSql = new ArrayList<>();
+    /**
+     * 执行SQL的线程名以这些前缀开头时忽略
+     */
+    private List<String> ignoreThread = new ArrayList<>();
+    /**
+     * 异步输出SQL日志
+     */
+    private Async async = new Async();
+
+    @Data
+    public static class Async {
+        /**
+         * 是否在后台线程中输出SQL日志和统计SQL指标
+         */
+        private boolean enable = false;
+        /**
+         * 环形缓冲区大小(会向上取整为2的幂)，缓冲区满时丢弃日志
+         */
+        private int bufferSize = 16384;
+        /**
+         * 后台线程每批最多处理的日志条数
+         */
+        private int batchSize = 512;
+        /**
+         * 缓冲区为空时后台线程的等待时间
+         */
+        private Duration idleWait = Duration.ofMillis(5);
+    }
+}
@@ -0,0 +1,51 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 查询结果缓存配置
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 21:20 <br/>
+ */
+@Data
+public class QueryCacheConfig {
+    public static final String PREFIX = "jdbc.query-cache";
+
+    public static QueryCacheConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, QueryCacheConfig.class).orElseGet(QueryCacheConfig::new);
+    }
+
+    /**
+     * 是否启用查询结果缓存(禁用时直接查询数据库)
+     */
+    private boolean enable = false;
+    /**
+     * 二级缓存使用的redis数据源名称(为空则只使用本地缓存)
+     */
+    private String redisName;
+    /**
+     * redis key 前缀
+     */
+    private String keyPrefix = "clever:query-cache:";
+    /**
+     * 本地缓存的数量上限
+     */
+    private long localMaximumSize = 10000;
+    /**
+     * 本地缓存的过期时间
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+    /**
+     * redis缓存的过期时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(10);
+    /**
+     * 多久从redis同步一次表版本号(其它节点修改数据后，本节点最多延迟这么久失效)
+     */
+    private Duration versionRefresh = Duration.ofSeconds(1);
+}
@@ -0,0 +1,30 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 大查询结果溢出到磁盘的配置(SpillableRows)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 03:30 <br/>
+ */
+@Data
+public class SpillConfig {
+    public static final String PREFIX = "jdbc.spill";
+
+    public static SpillConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, SpillConfig.class).orElseGet(SpillConfig::new);
+    }
+
+    /**
+     * 堆外内存中最多缓存的数据大小，超过后写入临时文件
+     */
+    private DataSize memoryThreshold = DataSize.ofMegabytes(16);
+    /**
+     * 临时文件目录(相对于 app.root-path)，应用启动时会清除目录中遗留的临时文件
+     */
+    private String directory = "./tmp/spill";
+}
@@ -0,0 +1,33 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * SQL执行指标配置(SqlStats)，与clever的 jdbc.metrics 使用同一个配置前缀
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+@Data
+public class SqlMetricsConfig {
+    public static final String PREFIX = "jdbc.metrics";
+
+    public static SqlMetricsConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, SqlMetricsConfig.class).orElseGet(SqlMetricsConfig::new);
+    }
+
+    /**
+     * 是否统计SQL执行指标
+     */
+    private boolean enable = true;
+    /**
+     * 每分钟最多统计的SQL数量(超出后新的SQL计入 SqlStats.OTHER_SQL)
+     */
+    private int maxSqlCount = 200;
+    /**
+     * 每个SQL保留的最慢的执行记录数量(包含参数)
+     */
+    private int histogramTopN = 3;
+}
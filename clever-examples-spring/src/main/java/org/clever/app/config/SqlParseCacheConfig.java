@@ -0,0 +1,29 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * 命名参数SQL解析缓存配置
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 20:30 <br/>
+ */
+@Data
+public class SqlParseCacheConfig {
+    public static final String PREFIX = "jdbc.parse-cache";
+
+    public static SqlParseCacheConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, SqlParseCacheConfig.class).orElseGet(SqlParseCacheConfig::new);
+    }
+
+    /**
+     * 是否启用SQL解析缓存(禁用时每次都重新解析)
+     */
+    private boolean enable = true;
+    /**
+     * 缓存的SQL数量上限(W-TinyLFU淘汰)
+     */
+    private long maximumSize = 2048;
+}
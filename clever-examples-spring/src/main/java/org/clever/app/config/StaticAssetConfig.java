@@ -0,0 +1,57 @@
+package org.clever.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 静态资源引擎配置(预压缩、零拷贝输出)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 22:30 <br/>
+ */
+@Data
+public class StaticAssetConfig {
+    public static final String PREFIX = "web.static-assets";
+
+    public static StaticAssetConfig create(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, StaticAssetConfig.class).orElseGet(StaticAssetConfig::new);
+    }
+
+    /**
+     * 是否启用(使用 web.resources.mappings 中的文件系统目录)
+     */
+    private boolean enable = false;
+    /**
+     * 预压缩文件和大文件副本的存放目录(相对于 app.root-path，不能与其它进程共用)，应用启动时会清除目录中遗留的文件
+     */
+    private String cacheDir = "./tmp/static-assets";
+    /**
+     * 小于该大小的文件不压缩
+     */
+    private DataSize compressMinSize = DataSize.ofKilobytes(1);
+    /**
+     * 小于该大小的文件内容缓存在内存中
+     */
+    private DataSize memoryMaxSize = DataSize.ofKilobytes(32);
+    /**
+     * 大文件是否使用内存映射输出(Windows下被映射的文件不能删除，开发环境建议关闭)
+     */
+    private boolean mmap = true;
+    /**
+     * 是否监听文件变化(文件修改后重新生成索引和压缩文件)
+     */
+    private boolean watch = true;
+    /**
+     * 文件名包含内容hash的文件(如: index.4f3a9c1b.js、index-4f3a9c1b.js)，使用 immutable 缓存。
+     * hash 必须是至少8位、同时包含数字和字母的小写十六进制，避免 banner-1920x1080.png、manual-20240101.pdf 这类普通文件名被永久缓存
+     */
+    private String immutablePattern = "^.+[.-](?=[0-9a-f]*[0-9])(?=[0-9a-f]*[a-f])[0-9a-f]{8,}\\.[A-Za-z0-9]+$";
+    /**
+     * immutable 文件的缓存时间
+     */
+    private Duration immutableMaxAge = Duration.ofDays(365);
+}
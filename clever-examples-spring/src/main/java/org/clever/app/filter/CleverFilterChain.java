@@ -0,0 +1,29 @@
+package org.clever.app.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.clever.core.Assert;
+
+/**
+ * 把所有clever的Filter合并成一个servlet过滤器，在内部按顺序执行(不会在多个servlet Filter之间来回调用)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 13:40 <br/>
+ */
+public class CleverFilterChain extends HttpFilter {
+    @Getter
+    private final CompiledFilterPipeline pipeline;
+
+    public CleverFilterChain(CompiledFilterPipeline pipeline) {
+        Assert.notNull(pipeline, "pipeline 不能为 null");
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain) {
+        pipeline.doFilter(req, res, chain);
+    }
+}
@@ -0,0 +1,146 @@
+package org.clever.app.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.clever.core.Assert;
+import org.clever.web.FilterRegistrar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 预编译的过滤器链。作为一个Filter注册到web服务，内部按顺序执行多个Filter，
+ * 每个请求路径只执行需要处理它的Filter(根据各个Filter的忽略路径在第一次请求时计算并缓存，缓存数量有上限，淘汰不常用的请求路径)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 11:36 <br/>
+ */
+@Slf4j
+public class CompiledFilterPipeline implements FilterRegistrar.FilterFuc {
+    private static final Stage[] EMPTY = new Stage[0];
+
+    private final List<Stage> stages = new ArrayList<>();
+    /**
+     * 请求路径 -> 需要执行的Filter
+     */
+    private final Cache<String, Stage[]> chainCache;
+
+    public CompiledFilterPipeline(int maxCachedPaths) {
+        this.chainCache = Caffeine.newBuilder().maximumSize(maxCachedPaths).build();
+    }
+
+    /**
+     * 增加Filter(按增加顺序执行)
+     *
+     * @param filter  Filter
+     * @param name    Filter名称
+     * @param applyTo 判断Filter是否需要处理请求路径
+     */
+    public CompiledFilterPipeline addFilter(FilterRegistrar.FilterFuc filter, String name, Predicate<String> applyTo) {
+        Assert.notNull(filter, "filter 不能为 null");
+        Assert.notNull(applyTo, "applyTo 不能为 null");
+        stages.add(new Stage(filter, name, applyTo));
+        chainCache.invalidateAll();
+        return this;
+    }
+
+    /**
+     * 获取请求路径需要执行的Filter
+     */
+    public Stage[] resolve(String path) {
+        return chainCache.get(path, this::compile);
+    }
+
+    private Stage[] compile(String path) {
+        List<Stage> list = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            if (stage.applyTo.test(path)) {
+                list.add(stage);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("过滤器链 | {} -> {}", path, list.stream().map(stage -> stage.name).toList());
+        }
+        return list.isEmpty() ? EMPTY : list.toArray(EMPTY);
+    }
+
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        doFilter(ctx.req, ctx.res, ctx.chain);
+    }
+
+    /**
+     * 执行请求路径需要的Filter，最后执行 next
+     */
+    @SneakyThrows
+    public void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain next) {
+        Stage[] chain = resolve(getPath(request));
+        if (chain.length == 0) {
+            next.doFilter(request, response);
+            return;
+        }
+        new PipelineChain(chain, next).doFilter(request, response);
+    }
+
+    private static String getPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        return uri.isEmpty() ? "/" : uri;
+    }
+
+    public static final class Stage {
+        private final FilterRegistrar.FilterFuc filter;
+        private final String name;
+        private final Predicate<String> applyTo;
+
+        private Stage(FilterRegistrar.FilterFuc filter, String name, Predicate<String> applyTo) {
+            this.filter = filter;
+            this.name = name;
+            this.applyTo = applyTo;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * 单个请求的过滤器链，请求/响应对象没有被包装时复用同一个 Context
+     */
+    private static final class PipelineChain implements FilterChain {
+        private final Stage[] chain;
+        private final FilterChain next;
+        private int index = 0;
+        private FilterRegistrar.Context ctx;
+
+        private PipelineChain(Stage[] chain, FilterChain next) {
+            this.chain = chain;
+            this.next = next;
+        }
+
+        @SneakyThrows
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+            if (index >= chain.length) {
+                next.doFilter(request, response);
+                return;
+            }
+            final Stage stage = chain[index++];
+            if (ctx == null || ctx.req != request || ctx.res != response) {
+                ctx = new FilterRegistrar.Context((HttpServletRequest) request, (HttpServletResponse) response, this);
+            }
+            stage.filter.doFilter(ctx);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.clever.app.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.config.ConnectionHoldConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.metrics.ConnectionHoldTracker;
+import org.clever.app.metrics.LatencyHistogram;
+import org.clever.app.metrics.WindowedHistogram;
+import org.clever.web.FilterRegistrar;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计每个请求占用数据库连接的时间
+ * <pre>
+ * 1. 结果保存在请求属性 ATTRIBUTE 中(AsyncEchoFilter 会输出到请求日志)
+ * 2. 超过 warn-threshold 时输出警告日志
+ * 3. 占用时间的分布通过 AppMetrics 导出(web.connection-hold)
+ * </pre>
+ * 需要放在 EchoFilter 之后、Security相关Filter和MvcFilter之前执行
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 01:40 <br/>
+ */
+@Slf4j
+public class ConnectionHoldFilter implements FilterRegistrar.FilterFuc {
+    public static final String METRICS_NAME = "web.connection-hold";
+    /**
+     * 请求占用数据库连接的时间(毫秒)，类型 Long
+     */
+    public static final String ATTRIBUTE = ConnectionHoldFilter.class.getName() + ".holdMillis";
+
+    public static ConnectionHoldFilter create(Environment environment) {
+        return new ConnectionHoldFilter(ConnectionHoldConfig.create(environment));
+    }
+
+    private final ConnectionHoldConfig config;
+    private final long warnMillis;
+    private final WindowedHistogram holdMillis = new WindowedHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder withoutConnection = new LongAdder();
+
+    public ConnectionHoldFilter(ConnectionHoldConfig config) {
+        this.config = config;
+        this.warnMillis = config.getWarnThreshold().toMillis();
+        AppMetrics.register(METRICS_NAME, this::metrics);
+    }
+
+    @SneakyThrows
+    @Override
+    public void doFilter(FilterRegistrar.Context ctx) {
+        if (!config.isEnable()) {
+            ctx.next();
+            return;
+        }
+        final ConnectionHoldTracker.Scope scope = ConnectionHoldTracker.begin();
+        try {
+            ctx.next();
+        } finally {
+            scope.close();
+            record(ctx.req, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, ConnectionHoldTracker.Scope scope) {
+        requests.increment();
+        if (scope.getConnections() == 0) {
+            withoutConnection.increment();
+            return;
+        }
+        final long millis = scope.getHoldMillis();
+        request.setAttribute(ATTRIBUTE, millis);
+        holdMillis.record(millis);
+        if (millis > warnMillis) {
+            log.warn("请求占用数据库连接时间过长: {}ms | 连接数={} | {} {}", millis, scope.getConnections(), request.getMethod(), request.getRequestURI());
+        }
+    }
+
+    private Map<String, Number> metrics() {
+        final LatencyHistogram.Snapshot snapshot = holdMillis.snapshot(1);
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests.sum());
+        metrics.put("withoutConnection", withoutConnection.sum());
+        metrics.put("holdCount1m", snapshot.getCount());
+        metrics.put("holdP50Millis1m", snapshot.percentile(0.50));
+        metrics.put("holdP99Millis1m", snapshot.percentile(0.99));
+        metrics.put("holdMaxMillis1m", snapshot.getMax());
+        return metrics;
+    }
+}
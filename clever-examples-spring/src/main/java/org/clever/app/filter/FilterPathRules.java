@@ -0,0 +1,167 @@
+package org.clever.app.filter;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.ConnectionHoldConfig;
+import org.clever.app.config.MetricsExportConfig;
+import org.clever.app.config.ResponseCacheConfig;
+import org.clever.app.config.StaticAssetConfig;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * 根据web配置(echo.ignore-paths、security.ignore-paths、mvc.path、resources.mappings)计算Filter是否需要处理请求路径
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 11:12 <br/>
+ */
+public class FilterPathRules {
+    private static final Predicate<String> ALWAYS = path -> true;
+    private static final Predicate<String> NEVER = path -> false;
+
+    private final Environment environment;
+    private final Binder binder;
+
+    public FilterPathRules(Environment environment) {
+        this.environment = environment;
+        this.binder = Binder.get(environment);
+    }
+
+    /**
+     * 所有请求都需要执行的Filter
+     */
+    public Predicate<String> all() {
+        return ALWAYS;
+    }
+
+    /**
+     * EchoFilter: 未启用或者匹配 web.echo.ignore-paths 的请求不执行
+     */
+    public Predicate<String> echo() {
+        if (!binder.bind("web.echo.enable", Boolean.class).orElse(true)) {
+            return NEVER;
+        }
+        return ignorePaths("web.echo.ignore-paths");
+    }
+
+    /**
+     * ConnectionHoldFilter: 未启用时不执行
+     */
+    public Predicate<String> connectionHold() {
+        if (!ConnectionHoldConfig.create(environment).isEnable()) {
+            return NEVER;
+        }
+        return ALWAYS;
+    }
+
+    /**
+     * Security相关Filter: 匹配 web.security.ignore-paths 的请求不执行
+     */
+    public Predicate<String> security() {
+        return ignorePaths("web.security.ignore-paths");
+    }
+
+    /**
+     * MvcHandlerMethodFilter、MvcFilter: 只处理 web.mvc.path 下的请求
+     */
+    public Predicate<String> mvc() {
+        String mvcPath = binder.bind("web.mvc.path", String.class).orElse(null);
+        if (StringUtils.isBlank(mvcPath) || "/".equals(mvcPath)) {
+            return ALWAYS;
+        }
+        final String prefix = StringUtils.appendIfMissing(mvcPath, "/");
+        final String base = StringUtils.removeEnd(prefix, "/");
+        return path -> path.startsWith(prefix) || path.equals(base);
+    }
+
+    /**
+     * ResponseCacheFilter: 未启用时不执行，只处理 web.mvc.path 下的请求
+     */
+    public Predicate<String> responseCache() {
+        if (!binder.bind(ResponseCacheConfig.PREFIX + ".enable", Boolean.class).orElse(false)) {
+            return NEVER;
+        }
+        return mvc();
+    }
+
+    /**
+     * MetricsFilter: 未启用时不执行，只处理 web.metrics-export.path 和 path + ".json"
+     */
+    public Predicate<String> metrics() {
+        final MetricsExportConfig config = MetricsExportConfig.create(environment);
+        if (!config.isEnable()) {
+            return NEVER;
+        }
+        final String path = config.getPath();
+        final String jsonPath = path + ".json";
+        return requestPath -> requestPath.equals(path) || requestPath.equals(jsonPath);
+    }
+
+    /**
+     * StaticAssetFilter: 未启用时不执行，其它与 StaticResourceFilter 相同
+     */
+    public Predicate<String> staticAssets() {
+        if (!binder.bind(StaticAssetConfig.PREFIX + ".enable", Boolean.class).orElse(false)) {
+            return NEVER;
+        }
+        return staticResource();
+    }
+
+    /**
+     * StaticResourceFilter: 只处理 web.resources.mappings 中 hosted-path 下的请求
+     */
+    public Predicate<String> staticResource() {
+        if (!binder.bind("web.resources.enable", Boolean.class).orElse(false)) {
+            return NEVER;
+        }
+        List<String> hostedPaths = binder.bind("web.resources.mappings", Bindable.listOf(ResourceMapping.class))
+            .orElse(Collections.emptyList())
+            .stream()
+            .map(ResourceMapping::getHostedPath)
+            .filter(Objects::nonNull)
+            .map(hostedPath -> StringUtils.appendIfMissing(hostedPath, "/"))
+            .toList();
+        if (hostedPaths.isEmpty()) {
+            return NEVER;
+        }
+        if (hostedPaths.contains("/")) {
+            return ALWAYS;
+        }
+        return path -> {
+            for (String hostedPath : hostedPaths) {
+                if (path.startsWith(hostedPath)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Predicate<String> ignorePaths(String name) {
+        List<String> ignorePaths = binder.bind(name, Bindable.listOf(String.class))
+            .orElse(Collections.emptyList())
+            .stream()
+            .filter(StringUtils::isNotBlank)
+            .distinct()
+            .toList();
+        if (ignorePaths.isEmpty()) {
+            return ALWAYS;
+        }
+        final PathPatternMatcher matcher = new PathPatternMatcher(ignorePaths);
+        return path -> !matcher.matches(path);
+    }
+
+    /**
+     * 只用于绑定 web.resources.mappings[*].hosted-path
+     */
+    @Data
+    public static class ResourceMapping {
+        private String hostedPath;
+    }
+}
@@ -0,0 +1,153 @@
+package org.clever.app.filter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.*;
+
+/**
+ * 把一组Ant路径模式编译成前缀/后缀字典树，匹配时不需要逐个模式调用 AntPathMatcher
+ * <pre>
+ * 1. "/**&#47;*.png" 等 -> 后缀 ".png"
+ * 2. "/static/**" 等 -> 前缀 "/static"
+ * 3. 不含通配符 -> 精确匹配
+ * 4. 其它模式 -> AntPathMatcher
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:10 <br/>
+ */
+public class PathPatternMatcher {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String ANY_SUFFIX = "/**/*";
+    private static final String ANY_PREFIX = "/**";
+
+    /**
+     * 后缀字典树(逆序插入)
+     */
+    private final Node suffixes = new Node();
+    /**
+     * 前缀字典树
+     */
+    private final Node prefixes = new Node();
+    private final Set<String> exacts = new HashSet<>();
+    private final List<String> others = new ArrayList<>();
+    private final boolean empty;
+
+    public PathPatternMatcher(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            if (StringUtils.isBlank(pattern)) {
+                continue;
+            }
+            pattern = pattern.trim();
+            if (pattern.startsWith(ANY_SUFFIX) && isLiteral(pattern.substring(ANY_SUFFIX.length())) && pattern.indexOf('/', ANY_SUFFIX.length()) < 0) {
+                String suffix = pattern.substring(ANY_SUFFIX.length());
+                Node node = suffixes;
+                for (int i = suffix.length() - 1; i >= 0; i--) {
+                    node = node.child(suffix.charAt(i), true);
+                }
+                node.terminal = true;
+            } else if (pattern.endsWith(ANY_PREFIX) && isLiteral(pattern.substring(0, pattern.length() - ANY_PREFIX.length()))) {
+                String prefix = pattern.substring(0, pattern.length() - ANY_PREFIX.length());
+                Node node = prefixes;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.child(prefix.charAt(i), true);
+                }
+                node.terminal = true;
+            } else if (isLiteral(pattern)) {
+                exacts.add(pattern);
+            } else {
+                others.add(pattern);
+            }
+        }
+        this.empty = suffixes.size == 0 && !suffixes.terminal && prefixes.size == 0 && !prefixes.terminal && exacts.isEmpty() && others.isEmpty();
+    }
+
+    /**
+     * 路径是否匹配任意一个模式
+     */
+    public boolean matches(String path) {
+        if (empty) {
+            return false;
+        }
+        if (matchSuffix(path) || matchPrefix(path) || exacts.contains(path)) {
+            return true;
+        }
+        for (String pattern : others) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchSuffix(String path) {
+        Node node = suffixes;
+        for (int i = path.length() - 1; i >= 0; i--) {
+            char ch = path.charAt(i);
+            // "*" 不能跨越 "/"
+            if (ch == '/') {
+                return false;
+            }
+            node = node.child(ch, false);
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * "/static/**" 匹配 "/static" 以及 "/static/" 开头的路径
+     */
+    private boolean matchPrefix(String path) {
+        Node node = prefixes;
+        if (node.terminal) {
+            return true;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i), false);
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal && (i == path.length() - 1 || path.charAt(i + 1) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String str) {
+        return !str.isEmpty() && StringUtils.containsNone(str, '*', '?', '{', '}');
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private boolean terminal;
+
+        private Node child(char ch, boolean create) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == ch) {
+                    return children[i];
+                }
+            }
+            if (!create) {
+                return null;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+                children = Arrays.copyOf(children, Math.max(4, size * 2));
+            }
+            Node node = new Node();
+            keys[size] = ch;
+            children[size] = node;
+            size++;
+            return node;
+        }
+    }
+}
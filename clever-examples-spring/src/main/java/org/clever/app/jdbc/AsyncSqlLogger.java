@@ -0,0 +1,231 @@
+package org.clever.app.jdbc;
+
+import com.p6spy.engine.logging.Category;
+import com.p6spy.engine.spy.appender.P6Logger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.P6SpyLogConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.metrics.SqlStats;
+import org.clever.app.thread.RingBuffer;
+import org.clever.data.jdbc.metrics.Slf4JLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * p6spy的appender(spy.properties: appender=org.clever.app.jdbc.AsyncSqlLogger)，
+ * 把SQL日志交给后台线程输出，执行SQL的线程只做 ignore-thread 判断和写入环形缓冲区
+ * <pre>
+ * 1. 后台线程使用 SqlIgnoreMatcher 判断 ignore-sql、ignore-contains-sql，忽略的SQL输出到 p6spy.ignore 日志
+ * 2. 其它SQL交给clever的 Slf4JLogger 输出(日志格式、慢SQL等逻辑不变)，并写入 SqlStats
+ * 3. 缓冲区满时丢弃日志，丢弃数量通过 AppMetrics 导出(jdbc.p6spy)
+ * 4. 调用 init 之前(或者未启用 jdbc.p6spylog.async)直接同步调用 Slf4JLogger
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+@Slf4j
+public class AsyncSqlLogger implements P6Logger {
+    public static final String METRICS_NAME = "jdbc.p6spy";
+    private static final Logger IGNORE_LOG = LoggerFactory.getLogger("p6spy.ignore");
+    private static volatile Pipeline PIPELINE;
+
+    /**
+     * 启动后台线程(重复调用会先停止之前的后台线程)
+     */
+    public static synchronized void init(P6SpyLogConfig config) {
+        shutdown();
+        if (config.getAsync().isEnable()) {
+            PIPELINE = new Pipeline(config);
+            AppMetrics.register(METRICS_NAME, PIPELINE::metrics);
+        }
+    }
+
+    /**
+     * 输出缓冲区中剩余的日志并停止后台线程
+     */
+    public static synchronized void shutdown() {
+        Pipeline pipeline = PIPELINE;
+        if (pipeline != null) {
+            PIPELINE = null;
+            pipeline.close();
+            AppMetrics.unregister(METRICS_NAME);
+        }
+    }
+
+    private final P6Logger delegate = new Slf4JLogger();
+
+    @Override
+    public void logSQL(int connectionId, String now, long elapsed, Category category, String prepared, String sql, String url) {
+        final Pipeline pipeline = PIPELINE;
+        if (pipeline == null) {
+            delegate.logSQL(connectionId, now, elapsed, category, prepared, sql, url);
+            return;
+        }
+        // 线程名只能在当前线程判断
+        final boolean threadIgnored = pipeline.isIgnoredThread(Thread.currentThread().getName());
+        if (threadIgnored && !IGNORE_LOG.isDebugEnabled()) {
+            return;
+        }
+        final long seq = pipeline.ring.tryClaim();
+        if (seq < 0) {
+            pipeline.dropped.increment();
+            return;
+        }
+        final Event event = pipeline.ring.get(seq);
+        event.delegate = delegate;
+        event.connectionId = connectionId;
+        event.now = now;
+        event.elapsed = elapsed;
+        event.category = category;
+        event.prepared = prepared;
+        event.sql = sql;
+        event.url = url;
+        event.threadIgnored = threadIgnored;
+        pipeline.ring.publish(seq);
+    }
+
+    @Override
+    public void logException(Exception e) {
+        delegate.logException(e);
+    }
+
+    @Override
+    public void logText(String text) {
+        delegate.logText(text);
+    }
+
+    @Override
+    public boolean isCategoryEnabled(Category category) {
+        return delegate.isCategoryEnabled(category);
+    }
+
+    private static final class Pipeline {
+        private final String[] ignoreThreads;
+        private final SqlIgnoreMatcher ignoreMatcher;
+        private final RingBuffer<Event> ring;
+        private final int batchSize;
+        private final long idleWaitNanos;
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder written = new LongAdder();
+        private final LongAdder ignored = new LongAdder();
+        private final Thread writer;
+        private volatile boolean running = true;
+
+        private Pipeline(P6SpyLogConfig config) {
+            this.ignoreThreads = config.getIgnoreThread().stream().filter(StringUtils::isNotEmpty).toArray(String[]::new);
+            this.ignoreMatcher = new SqlIgnoreMatcher(config.getIgnoreSql(), config.getIgnoreContainsSql());
+            this.ring = new RingBuffer<>(config.getAsync().getBufferSize(), Event::new);
+            this.batchSize = Math.max(config.getAsync().getBatchSize(), 1);
+            this.idleWaitNanos = Math.max(config.getAsync().getIdleWait().toNanos(), TimeUnit.MICROSECONDS.toNanos(100));
+            this.writer = new Thread(this::drain, "async-sql-logger");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+
+        private boolean isIgnoredThread(String threadName) {
+            for (String prefix : ignoreThreads) {
+                if (threadName.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void drain() {
+            long next = ring.getConsumed();
+            long reportedDropped = 0;
+            while (running || ring.getPending() > 0) {
+                int count = 0;
+                Event event;
+                while (count < batchSize && (event = ring.peek(next)) != null) {
+                    try {
+                        handle(event);
+                    } catch (Throwable e) {
+                        log.warn("SQL日志输出失败", e);
+                    } finally {
+                        event.clear();
+                        ring.release(next);
+                        next++;
+                        count++;
+                    }
+                }
+                written.add(count);
+                long totalDropped = dropped.sum();
+                if (totalDropped > reportedDropped) {
+                    log.warn("SQL日志缓冲区已满，丢弃了 {} 条日志", totalDropped - reportedDropped);
+                    reportedDropped = totalDropped;
+                }
+                if (count == 0) {
+                    LockSupport.parkNanos(idleWaitNanos);
+                }
+            }
+        }
+
+        private void handle(Event event) {
+            final String prepared = StringUtils.isNotBlank(event.prepared) ? event.prepared : event.sql;
+            if (event.threadIgnored || ignoreMatcher.matches(prepared)) {
+                ignored.increment();
+                if (IGNORE_LOG.isDebugEnabled()) {
+                    IGNORE_LOG.debug("{}ms | connection {} | {}", event.elapsed, event.connectionId, StringUtils.defaultIfBlank(event.sql, prepared));
+                }
+                return;
+            }
+            event.delegate.logSQL(event.connectionId, event.now, event.elapsed, event.category, event.prepared, event.sql, event.url);
+            if (Category.STATEMENT.equals(event.category)) {
+                SqlStats.record(prepared, event.sql, event.elapsed);
+            }
+        }
+
+        private Map<String, Number> metrics() {
+            Map<String, Number> metrics = new LinkedHashMap<>();
+            metrics.put("written", written.sum());
+            metrics.put("ignored", ignored.sum());
+            metrics.put("dropped", dropped.sum());
+            metrics.put("pending", ring.getPending());
+            metrics.put("bufferSize", ring.getCapacity());
+            return metrics;
+        }
+
+        private void close() {
+            running = false;
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 环形缓冲区中可复用的事件
+     */
+    private static final class Event {
+        private P6Logger delegate;
+        private int connectionId;
+        private String now;
+        private long elapsed;
+        private Category category;
+        private String prepared;
+        private String sql;
+        private String url;
+        private boolean threadIgnored;
+
+        private void clear() {
+            delegate = null;
+            now = null;
+            category = null;
+            prepared = null;
+            sql = null;
+            url = null;
+        }
+    }
+}
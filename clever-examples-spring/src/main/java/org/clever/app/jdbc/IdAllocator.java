@@ -0,0 +1,266 @@
+package org.clever.app.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * 批量预取的ID生成器(基于数据库序列 next_ids)
+ * <pre>
+ * 1. 每次从数据库申请一段ID(Jdbc.nextIds)，在内存中使用无锁计数器分配
+ * 2. 当前号段使用到低水位时异步预取下一段，号段用完时直接切换，不会阻塞在数据库请求上
+ * 3. 号段大小根据消耗速度自动调整(消耗快则加倍，消耗慢则减半)
+ * 4. 号段由数据库原子分配，多个节点(timed-task.namespace 下的所有实例)之间不会重复，但ID不保证全局递增
+ * 5. 申请号段始终在ID生成器自己的线程中执行(独立的自动提交事务)，调用方的事务回滚不会让已缓存的号段被其它节点重复使用
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 19:02 <br/>
+ */
+@Slf4j
+public class IdAllocator {
+    public static final int DEFAULT_MIN_BLOCK_SIZE = 16;
+    public static final int DEFAULT_MAX_BLOCK_SIZE = 4096;
+    /**
+     * 期望多久从数据库申请一次号段
+     */
+    public static final long DEFAULT_TARGET_REFILL_MILLIS = 5_000;
+    private static final Map<Jdbc, IdAllocator> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * 从数据库申请ID: (序列名称, 数量) -> ID
+     */
+    private final BiFunction<String, Integer, List<Long>> idSource;
+    private final int minBlockSize;
+    private final int maxBlockSize;
+    private final long targetRefillNanos;
+    private final ConcurrentMap<String, Sequence> sequences = new ConcurrentHashMap<>();
+    /**
+     * 申请号段的线程(每个ID生成器一个，空闲时自动退出)
+     */
+    private final ThreadPoolExecutor fetchExecutor;
+
+    public IdAllocator(Jdbc jdbc, int minBlockSize, int maxBlockSize, long targetRefillMillis) {
+        this(jdbc == null ? null : jdbc.getDataSourceName(), jdbc == null ? null : jdbc::nextIds, minBlockSize, maxBlockSize, targetRefillMillis);
+    }
+
+    /**
+     * @param name     名称(用于线程名称)
+     * @param idSource 从数据库申请ID: (序列名称, 数量) -> ID
+     */
+    IdAllocator(String name, BiFunction<String, Integer, List<Long>> idSource, int minBlockSize, int maxBlockSize, long targetRefillMillis) {
+        Assert.notNull(idSource, "jdbc 不能为 null");
+        Assert.isTrue(minBlockSize > 0 && minBlockSize <= maxBlockSize, "号段大小配置错误");
+        this.idSource = idSource;
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.targetRefillNanos = TimeUnit.MILLISECONDS.toNanos(targetRefillMillis);
+        final String threadName = "id-allocator-" + name;
+        this.fetchExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 获取数据源对应的ID生成器(每个数据源一个实例)
+     */
+    public static IdAllocator of(Jdbc jdbc) {
+        return INSTANCES.computeIfAbsent(jdbc, key -> new IdAllocator(key, DEFAULT_MIN_BLOCK_SIZE, DEFAULT_MAX_BLOCK_SIZE, DEFAULT_TARGET_REFILL_MILLIS));
+    }
+
+    /**
+     * 获取一个ID
+     *
+     * @param seqName 序列名称
+     */
+    public long nextId(String seqName) {
+        return sequences.computeIfAbsent(seqName, Sequence::new).next();
+    }
+
+    /**
+     * 获取多个ID，数量超过当前号段大小时直接从数据库申请
+     *
+     * @param seqName 序列名称
+     * @param size    ID数量
+     */
+    public List<Long> nextIds(String seqName, int size) {
+        Assert.isTrue(size > 0, "size 必须大于0");
+        Sequence sequence = sequences.computeIfAbsent(seqName, Sequence::new);
+        if (size > sequence.blockSize) {
+            return await(fetchExecutor.submit(() -> checkIds(seqName, size, idSource.apply(seqName, size))));
+        }
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(sequence.next());
+        }
+        return ids;
+    }
+
+    /**
+     * 当前号段大小
+     */
+    public int getBlockSize(String seqName) {
+        Sequence sequence = sequences.get(seqName);
+        return sequence == null ? minBlockSize : sequence.blockSize;
+    }
+
+    /**
+     * 一段预先申请的ID
+     */
+    private static final class Block {
+        private final long[] ids;
+        private final int lowWatermark;
+        private final AtomicInteger cursor = new AtomicInteger(0);
+
+        private Block(List<Long> ids) {
+            this.ids = new long[ids.size()];
+            for (int i = 0; i < this.ids.length; i++) {
+                this.ids[i] = ids.get(i);
+            }
+            // 使用到 3/4 时预取下一段
+            this.lowWatermark = this.ids.length - Math.max(1, this.ids.length / 4);
+        }
+    }
+
+    /**
+     * 检查 idSource 返回的ID数量，避免返回空号段时反复申请
+     */
+    private static List<Long> checkIds(String seqName, int size, List<Long> ids) {
+        if (ids == null || ids.size() != size) {
+            throw new IllegalStateException("申请ID的数量错误 | seqName=" + seqName + ", size=" + size + ", actual=" + (ids == null ? null : ids.size()));
+        }
+        return ids;
+    }
+
+    /**
+     * 等待申请号段的结果(不能在持有锁的情况下调用)
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待申请ID时线程被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("申请ID失败", e.getCause());
+        }
+    }
+
+    private final class Sequence {
+        private final String seqName;
+        private volatile int blockSize = minBlockSize;
+        private volatile Block current;
+        /**
+         * 正在申请的下一段ID(只在持有 Sequence 锁时修改)
+         */
+        private Future<Block> prefetch;
+        /**
+         * 只在申请号段的线程中读写
+         */
+        private long lastFetchNanos;
+
+        private Sequence(String seqName) {
+            this.seqName = seqName;
+        }
+
+        private long next() {
+            while (true) {
+                final Block block = current;
+                if (block != null) {
+                    final int index = block.cursor.getAndIncrement();
+                    if (index < block.ids.length) {
+                        if (index == block.lowWatermark) {
+                            startPrefetch();
+                        }
+                        return block.ids[index];
+                    }
+                }
+                final Future<Block> future = requestBlock(block);
+                if (future == null) {
+                    // 其它线程已经切换了号段
+                    continue;
+                }
+                final Block next;
+                try {
+                    // 在锁外等待，申请号段的线程不需要获取 Sequence 锁
+                    next = await(future);
+                } catch (RuntimeException e) {
+                    clearPrefetch(future);
+                    log.warn("申请ID失败 | seqName={}", seqName, e);
+                    throw e;
+                }
+                installBlock(block, future, next);
+            }
+        }
+
+        /**
+         * 号段用完时获取正在申请的下一段(没有则开始申请)，号段已经被其它线程切换时返回 null
+         */
+        private synchronized Future<Block> requestBlock(Block exhausted) {
+            if (current != exhausted) {
+                return null;
+            }
+            if (prefetch == null) {
+                prefetch = fetchExecutor.submit(this::fetch);
+            }
+            return prefetch;
+        }
+
+        private synchronized void installBlock(Block exhausted, Future<Block> future, Block next) {
+            if (current == exhausted && prefetch == future) {
+                current = next;
+                prefetch = null;
+            }
+        }
+
+        private synchronized void clearPrefetch(Future<Block> future) {
+            if (prefetch == future) {
+                prefetch = null;
+            }
+        }
+
+        private synchronized void startPrefetch() {
+            if (prefetch == null) {
+                prefetch = fetchExecutor.submit(this::fetch);
+            }
+        }
+
+        /**
+         * 在申请号段的线程中执行
+         */
+        private Block fetch() {
+            final int size = adjustBlockSize();
+            return new Block(checkIds(seqName, size, idSource.apply(seqName, size)));
+        }
+
+        /**
+         * 根据两次申请号段的时间间隔调整号段大小(只在申请号段的线程中调用，不需要加锁)
+         */
+        private int adjustBlockSize() {
+            final long now = System.nanoTime();
+            if (lastFetchNanos > 0) {
+                final long interval = now - lastFetchNanos;
+                if (interval < targetRefillNanos / 2) {
+                    blockSize = Math.min(maxBlockSize, blockSize * 2);
+                } else if (interval > targetRefillNanos * 2) {
+                    blockSize = Math.max(minBlockSize, blockSize / 2);
+                }
+            }
+            lastFetchNanos = now;
+            return blockSize;
+        }
+    }
+}
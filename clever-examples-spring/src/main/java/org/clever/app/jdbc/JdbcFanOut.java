@@ -0,0 +1,327 @@
+package org.clever.app.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.config.JdbcFanOutConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.app.thread.VirtualThreads;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.DaoFactory;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多个数据源的查询并行执行，请求耗时由 sum(查询耗时) 变成 max(查询耗时)
+ * <pre>{@code
+ * JdbcFanOut fanOut = JdbcFanOut.create(Duration.ofSeconds(3));
+ * JdbcFanOut.Query<List<Map<String, Object>>> users = fanOut.queryManyRaw("mysql", "select * from sys_user", params);
+ * JdbcFanOut.Query<Long> count = fanOut.queryLong("postgresql", "select count(*) from asn_in", params);
+ * fanOut.await();
+ * users.get();
+ * count.get();
+ * }</pre>
+ * <pre>
+ * 1. 查询在虚拟线程中执行(jdk21以下使用固定大小的平台线程池)
+ * 2. 超时或者任意一个查询失败时，使用 Statement.cancel 取消其它未完成的查询
+ * 3. 当前线程的事务已经绑定了某个数据源时，该数据源的查询在当前线程中执行(使用事务中的连接)，其它数据源的查询仍然并行执行
+ * 4. 在 @Transactional(disabled = true) 的处理器中所有查询都并行执行，每个查询使用自动提交的连接
+ * </pre>
+ * JdbcFanOut 对象不是线程安全的，只能在创建它的线程中使用
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 02:20 <br/>
+ */
+@Slf4j
+public class JdbcFanOut {
+    public static final String METRICS_NAME = "jdbc.fan-out";
+
+    private static final LongAdder PARALLEL = new LongAdder();
+    private static final LongAdder INLINE = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+    private static final LongAdder CANCELLED = new LongAdder();
+    private static volatile JdbcFanOutConfig CONFIG = new JdbcFanOutConfig();
+    private static volatile ExecutorService EXECUTOR;
+
+    /**
+     * 使用配置初始化(应用启动时调用一次)
+     */
+    public static synchronized void init(JdbcFanOutConfig config) {
+        Assert.notNull(config, "参数 config 不能为 null");
+        Assert.isTrue(config.getTimeout() != null && !config.getTimeout().isNegative(), "参数 timeout 不能小于0");
+        Assert.isTrue(config.getFallbackThreads() > 0, "参数 fallbackThreads 必须大于0");
+        CONFIG = config;
+        AppMetrics.register(METRICS_NAME, JdbcFanOut::metrics);
+    }
+
+    /**
+     * 停止执行器(应用停止时调用)
+     */
+    public static synchronized void shutdown() {
+        if (EXECUTOR != null) {
+            EXECUTOR.shutdownNow();
+            EXECUTOR = null;
+        }
+    }
+
+    /**
+     * 使用默认超时时间(jdbc.fan-out.timeout)
+     */
+    public static JdbcFanOut create() {
+        return new JdbcFanOut(CONFIG.getTimeout());
+    }
+
+    /**
+     * @param timeout 超时时间(从创建开始计算)
+     */
+    public static JdbcFanOut create(Duration timeout) {
+        Assert.notNull(timeout, "参数 timeout 不能为 null");
+        return new JdbcFanOut(timeout);
+    }
+
+    private static ExecutorService getExecutor() {
+        ExecutorService executor = EXECUTOR;
+        if (executor == null) {
+            synchronized (JdbcFanOut.class) {
+                executor = EXECUTOR;
+                if (executor == null) {
+                    executor = VirtualThreads.newExecutor("jdbc-fan-out-", CONFIG.getFallbackThreads());
+                    EXECUTOR = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private final long deadline;
+    private final List<Query<?>> queries = new ArrayList<>();
+    private boolean awaited;
+
+    private JdbcFanOut(Duration timeout) {
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * 提交一个查询
+     *
+     * @param dataSourceName 数据源名称
+     * @param sql            sql语句(支持命名参数)
+     * @param paramMap       参数
+     * @param extractor      读取查询结果
+     */
+    public <T> Query<T> query(String dataSourceName, String sql, Map<String, ?> paramMap, ResultSetExtractor<T> extractor) {
+        Assert.isTrue(!awaited, "已经调用了 await，不能再提交查询");
+        Assert.notNull(extractor, "参数 extractor 不能为 null");
+        final Jdbc jdbc = DaoFactory.getJdbc(dataSourceName);
+        final Query<T> query = new Query<>(jdbc, SqlParseCache.prepare(jdbc, sql, paramMap), extractor);
+        queries.add(query);
+        if (isBoundToTransaction(query.jdbcTemplate.getDataSource())) {
+            // 在 await 中使用当前线程的事务连接执行
+            INLINE.increment();
+        } else {
+            PARALLEL.increment();
+            query.submit();
+        }
+        return query;
+    }
+
+    /**
+     * 提交一个查询，返回所有行，与 Jdbc.queryMany 的返回值不同:
+     * key 是数据库返回的原始列名(不会转换成驼峰命名)，value 是 JDBC 驱动返回的原始类型(不做类型转换)。
+     * 需要与 Jdbc.queryMany 相同的数据格式时使用 {@link #query(String, String, Map, ResultSetExtractor)} 自定义转换
+     */
+    public Query<List<Map<String, Object>>> queryManyRaw(String dataSourceName, String sql, Map<String, ?> paramMap) {
+        return query(dataSourceName, sql, paramMap, new RowMapperResultSetExtractor<>(new ColumnMapRowMapper()));
+    }
+
+    /**
+     * 提交一个查询，返回第一行第一列的值(没有数据时返回 null)
+     */
+    public Query<Long> queryLong(String dataSourceName, String sql, Map<String, ?> paramMap) {
+        return query(dataSourceName, sql, paramMap, rs -> rs.next() ? new SingleColumnRowMapper<>(Long.class).mapRow(rs, 1) : null);
+    }
+
+    /**
+     * 等待所有查询完成，超时或者任意一个查询失败时取消其它未完成的查询并抛出异常
+     */
+    public void await() {
+        Assert.isTrue(!awaited, "不能重复调用 await");
+        awaited = true;
+        try {
+            // 绑定到当前事务的查询在当前线程中执行，与其它查询并行
+            for (Query<?> query : queries) {
+                if (query.future == null) {
+                    query.runInline();
+                }
+            }
+            final CompletableFuture<?>[] futures = queries.stream().map(query -> query.future).toArray(CompletableFuture[]::new);
+            final CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+            for (CompletableFuture<?> future : futures) {
+                future.whenComplete((result, error) -> {
+                    if (error != null) {
+                        firstFailure.completeExceptionally(error);
+                    }
+                });
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures), firstFailure).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            TIMEOUTS.increment();
+            cancelAll();
+            throw new QueryTimeoutException("并行查询超时");
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("等待并行查询时线程被中断");
+        } catch (ExecutionException e) {
+            cancelAll();
+            throw unwrap(e.getCause());
+        } catch (RuntimeException | Error e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    private void cancelAll() {
+        for (Query<?> query : queries) {
+            query.cancel();
+        }
+    }
+
+    private long remainingSeconds() {
+        final long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new QueryTimeoutException("并行查询超时");
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static boolean isBoundToTransaction(DataSource dataSource) {
+        return dataSource != null
+            && TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.hasResource(dataSource);
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException(error);
+    }
+
+    private static Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("parallel", PARALLEL.sum());
+        metrics.put("inline", INLINE.sum());
+        metrics.put("timeouts", TIMEOUTS.sum());
+        metrics.put("cancelled", CANCELLED.sum());
+        return metrics;
+    }
+
+    /**
+     * 一个已提交的查询
+     */
+    public final class Query<T> {
+        private final JdbcTemplate jdbcTemplate;
+        private final SqlParseCache.PreparedSql preparedSql;
+        private final ResultSetExtractor<T> extractor;
+        private CompletableFuture<T> future;
+        private volatile PreparedStatement statement;
+        private volatile boolean cancelled;
+
+        private Query(Jdbc jdbc, SqlParseCache.PreparedSql preparedSql, ResultSetExtractor<T> extractor) {
+            this.jdbcTemplate = jdbc.getJdbcTemplate().getJdbcTemplate();
+            this.preparedSql = preparedSql;
+            this.extractor = extractor;
+        }
+
+        private void submit() {
+            future = CompletableFuture.supplyAsync(this::execute, getExecutor());
+        }
+
+        private void runInline() {
+            future = new CompletableFuture<>();
+            try {
+                future.complete(execute());
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        private T execute() {
+            return jdbcTemplate.query(con -> {
+                if (cancelled) {
+                    throw new CancellationException("查询已取消");
+                }
+                PreparedStatement ps = con.prepareStatement(preparedSql.getSql());
+                ps.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, remainingSeconds()));
+                new ArgumentPreparedStatementSetter(preparedSql.getArgs()).setValues(ps);
+                statement = ps;
+                // 创建 Statement 之前已经被取消
+                if (cancelled) {
+                    ps.cancel();
+                }
+                return ps;
+            }, extractor);
+        }
+
+        private void cancel() {
+            if (future != null && future.isDone()) {
+                return;
+            }
+            cancelled = true;
+            CANCELLED.increment();
+            final PreparedStatement ps = statement;
+            if (ps != null) {
+                try {
+                    ps.cancel();
+                } catch (SQLException e) {
+                    log.debug("取消查询失败", e);
+                }
+            }
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * 获取查询结果(需要先调用 JdbcFanOut.await)
+         */
+        public T get() {
+            Assert.isTrue(awaited, "需要先调用 JdbcFanOut.await");
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+    }
+}
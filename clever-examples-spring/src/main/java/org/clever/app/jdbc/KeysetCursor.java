@@ -0,0 +1,169 @@
+package org.clever.app.jdbc;
+
+import org.clever.core.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 键集分页的游标(上一页最后一行的排序字段值)，编码成不透明的 base64url 字符串
+ * <pre>
+ * 格式: 版本(1字节) + 查询签名(4字节) + 字段数量(1字节) + [类型(1字节) + 值]...
+ * 1. 查询签名由SQL和排序字段计算，游标不能用于其它查询
+ * 2. 排序字段的值保留原始类型(整数、小数、字符串、时间...)，作为SQL参数时不会有类型转换问题
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 02:50 <br/>
+ */
+public abstract class KeysetCursor {
+    private static final byte VERSION = 1;
+    private static final byte LONG = 'L';
+    private static final byte DOUBLE = 'F';
+    private static final byte DECIMAL = 'B';
+    private static final byte STRING = 'S';
+    private static final byte BOOLEAN = 'Z';
+    private static final byte TIMESTAMP = 'T';
+    private static final byte DATE = 'D';
+    private static final byte UUID_VALUE = 'U';
+
+    /**
+     * 编码游标
+     *
+     * @param signature 查询签名
+     * @param values    排序字段的值(不能为 null)
+     */
+    public static String encode(int signature, Object[] values) {
+        Assert.isTrue(values != null && values.length > 0 && values.length <= Byte.MAX_VALUE, "排序字段数量必须在 1~127 之间");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(signature);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                write(out, value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor    游标
+     * @param signature 查询签名(与编码时不一致时抛出异常)
+     * @param columns   排序字段数量(与游标中的值数量不一致时抛出异常)
+     */
+    public static Object[] decode(String cursor, int signature, int columns) {
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            Assert.isTrue(in.readByte() == VERSION, "不支持的分页游标版本");
+            Assert.isTrue(in.readInt() == signature, "分页游标与当前查询不匹配");
+            final int count = in.readByte();
+            Assert.isTrue(count >= 0 && count == columns, "分页游标与当前查询不匹配");
+            final Object[] values = new Object[count];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = read(in);
+            }
+            Assert.isTrue(in.available() == 0, "无效的分页游标");
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        Assert.notNull(value, "排序字段的值不能为 null");
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            out.writeByte(DECIMAL);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof java.sql.Date date) {
+            out.writeByte(DATE);
+            out.writeLong(date.toLocalDate().toEpochDay());
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(DATE);
+            out.writeLong(date.toEpochDay());
+        } else if (value instanceof Timestamp || value instanceof Date || value instanceof LocalDateTime
+            || value instanceof OffsetDateTime || value instanceof ZonedDateTime || value instanceof Instant) {
+            final Timestamp timestamp = toTimestamp(value);
+            out.writeByte(TIMESTAMP);
+            out.writeLong(Math.floorDiv(timestamp.getTime(), 1000L));
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        return switch (type) {
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case DECIMAL -> new BigDecimal(in.readUTF());
+            case BOOLEAN -> in.readBoolean();
+            case DATE -> java.sql.Date.valueOf(LocalDate.ofEpochDay(in.readLong()));
+            case TIMESTAMP -> {
+                final Timestamp timestamp = new Timestamp(in.readLong() * 1000L);
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+            case STRING -> in.readUTF();
+            default -> throw new IOException("未知的数据类型: " + type);
+        };
+    }
+
+    private static Timestamp toTimestamp(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return Timestamp.from(dateTime.toInstant());
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return Timestamp.from(dateTime.toInstant());
+        }
+        if (value instanceof Instant instant) {
+            return Timestamp.from(instant);
+        }
+        return new Timestamp(((Date) value).getTime());
+    }
+}
@@ -0,0 +1,737 @@
+package org.clever.app.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.clever.app.config.SpillConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 大查询结果缓存在堆外: 数据以紧凑的二进制格式写入堆外内存，超过 memory-threshold 后写入临时文件(内存映射读取)
+ * <pre>{@code
+ * try (SpillableRows rows = SpillableRows.query(jdbc, "select * from asn_in", params)) {
+ *     // 可以重复读取
+ *     rows.forEachRow(values -> { ... });
+ *     // 排序、分组得到的是共享数据的视图(只在堆中保存行位置)
+ *     SpillableRows sorted = rows.sorted("update_at", true);
+ *     JsonStreamWriter.writeRows(response, sorted);
+ * }
+ * }</pre>
+ * <pre>
+ * 1. 查询使用 JdbcStreams 流式读取，ResultSet 的数据不会全部加载到堆中
+ * 2. 读取时每行数据临时解码(新生代中的短生命周期对象)，不会进入老年代
+ * 3. 支持的类型: 整数、小数、字符串、布尔、时间、日期、byte[]，读取时返回与写入时相同的Java类型，其它类型按 toString 保存
+ * 4. 使用完后需要调用 close 删除临时文件(视图与原始数据共享存储，close 后视图也不能再使用)
+ * </pre>
+ * SpillableRows 不是线程安全的
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 03:30 <br/>
+ */
+@Slf4j
+public class SpillableRows implements Iterable<Map<String, Object>>, AutoCloseable {
+    public static final String METRICS_NAME = "jdbc.spill";
+    /**
+     * 单个内存映射区域的最大大小(区域按行对齐)
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int INITIAL_BUFFER = 64 * 1024;
+    private static final String FILE_PREFIX = "spill-";
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte STRING = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte TIMESTAMP = 8;
+    private static final byte DATE = 9;
+    private static final byte BYTES = 10;
+    private static final byte TIME = 11;
+    private static final byte BIGINTEGER = 12;
+    private static final byte LOCAL_DATE = 13;
+    private static final byte LOCAL_DATE_TIME = 14;
+    private static final byte LOCAL_TIME = 15;
+    private static final byte UTIL_DATE = 16;
+    private static final byte SHORT = 17;
+    private static final byte BYTE = 18;
+
+    private static final LongAdder QUERIES = new LongAdder();
+    private static final LongAdder SPILLED = new LongAdder();
+    private static final AtomicLong SPILL_BYTES = new AtomicLong();
+    private static volatile SpillConfig CONFIG = new SpillConfig();
+    private static volatile Path DIRECTORY;
+    /**
+     * 排序时比较列值(数字按数值比较，相同类型按 Comparable 比较，其它按字符串比较)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> KEY_COMPARATOR = (a, b) -> {
+        if (a instanceof Number x && b instanceof Number y && !(a instanceof BigDecimal) && !(b instanceof BigDecimal)) {
+            return x instanceof Double || y instanceof Double || x instanceof Float || y instanceof Float
+                ? Double.compare(x.doubleValue(), y.doubleValue())
+                : Long.compare(x.longValue(), y.longValue());
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        if (a instanceof byte[] x && b instanceof byte[] y) {
+            return Arrays.compare(x, y);
+        }
+        return a.toString().compareTo(b.toString());
+    };
+
+    /**
+     * 使用配置初始化(应用启动时调用一次)，会清除临时文件目录中遗留的文件
+     *
+     * @param rootPath 应用根路径(app.root-path)
+     */
+    public static void init(String rootPath, SpillConfig config) {
+        Assert.notNull(config, "参数 config 不能为 null");
+        Assert.isTrue(config.getMemoryThreshold().toBytes() > 0 && config.getMemoryThreshold().toBytes() <= SEGMENT_SIZE, "memoryThreshold 必须在 1B~1GB 之间");
+        final Path directory = Paths.get(rootPath).resolve(config.getDirectory()).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("初始化临时文件目录失败: " + directory, e);
+        }
+        CONFIG = config;
+        DIRECTORY = directory;
+        AppMetrics.register(METRICS_NAME, SpillableRows::metrics);
+    }
+
+    /**
+     * 执行查询，结果缓存在堆外内存或临时文件中
+     *
+     * @param jdbc     数据源
+     * @param sql      sql语句(支持命名参数)
+     * @param paramMap 参数
+     */
+    public static SpillableRows query(Jdbc jdbc, String sql, Map<String, ?> paramMap) {
+        return query(writer -> JdbcStreams.query(jdbc, sql, paramMap, writer));
+    }
+
+    /**
+     * @param query 执行查询，把每一行交给 RowCallbackHandler 处理
+     */
+    static SpillableRows query(Consumer<RowCallbackHandler> query) {
+        final Writer writer = new Writer(CONFIG.getMemoryThreshold().toBytes());
+        QUERIES.increment();
+        try {
+            query.accept(writer);
+            return new SpillableRows(writer.finish());
+        } catch (RuntimeException | Error e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    private final Storage storage;
+    /**
+     * 视图的行位置(null 表示原始顺序的全部数据)
+     */
+    private final long[] positions;
+
+    private SpillableRows(Storage storage) {
+        this(storage, null);
+    }
+
+    private SpillableRows(Storage storage, long[] positions) {
+        this.storage = storage;
+        this.positions = positions;
+    }
+
+    /**
+     * 列名
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(storage.columns));
+    }
+
+    /**
+     * 数据行数
+     */
+    public long size() {
+        return positions == null ? storage.rows : positions.length;
+    }
+
+    /**
+     * 数据是否写入了临时文件
+     */
+    public boolean isSpilled() {
+        return storage.resources.file != null;
+    }
+
+    /**
+     * 数据占用的字节数
+     */
+    public long getBytes() {
+        return storage.bytes;
+    }
+
+    /**
+     * 按顺序读取每一行数据(values 与 getColumns 的顺序一致)
+     */
+    public void forEachRow(Consumer<Object[]> action) {
+        Assert.notNull(action, "action 不能为 null");
+        storage.checkOpen();
+        if (positions != null) {
+            for (long position : positions) {
+                action.accept(storage.decode(position));
+            }
+            return;
+        }
+        long position = 0;
+        for (long row = 0; row < storage.rows; row++) {
+            action.accept(storage.decode(position));
+            position += Integer.BYTES + storage.rowLength(position);
+        }
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        storage.checkOpen();
+        return new Iterator<>() {
+            private long index = 0;
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final long current;
+                if (positions != null) {
+                    current = positions[(int) index];
+                } else {
+                    current = position;
+                    position += Integer.BYTES + storage.rowLength(position);
+                }
+                index++;
+                return toMap(storage.decode(current));
+            }
+        };
+    }
+
+    /**
+     * 按某一列排序(稳定排序，null值排在最后)，返回共享数据的视图。排序字段的值会临时加载到堆中
+     *
+     * @param column 列名
+     * @param desc   是否降序
+     */
+    public SpillableRows sorted(String column, boolean desc) {
+        final int columnIndex = columnIndex(column);
+        final long[] rowPositions = positions();
+        final Object[] keys = new Object[rowPositions.length];
+        for (int i = 0; i < rowPositions.length; i++) {
+            keys[i] = storage.decode(rowPositions[i])[columnIndex];
+        }
+        final Comparator<Object> comparator = desc ? KEY_COMPARATOR.reversed() : KEY_COMPARATOR;
+        final int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[order.length], 0, order.length, (a, b) -> {
+            // null值始终排在最后
+            if (keys[a] == null || keys[b] == null) {
+                return keys[a] == null ? (keys[b] == null ? 0 : 1) : -1;
+            }
+            return comparator.compare(keys[a], keys[b]);
+        });
+        final long[] sorted = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = rowPositions[order[i]];
+        }
+        return new SpillableRows(storage, sorted);
+    }
+
+    /**
+     * 按某一列分组(保持原有顺序)，返回 列值 -> 共享数据的视图
+     *
+     * @param column 列名
+     */
+    public Map<Object, SpillableRows> groupBy(String column) {
+        final int columnIndex = columnIndex(column);
+        final Map<Object, long[]> groups = new LinkedHashMap<>();
+        final Map<Object, Integer> sizes = new HashMap<>();
+        for (long position : positions()) {
+            final Object key = storage.decode(position)[columnIndex];
+            final int size = sizes.getOrDefault(key, 0);
+            long[] group = groups.get(key);
+            if (group == null || group.length == size) {
+                group = group == null ? new long[16] : Arrays.copyOf(group, size * 2);
+                groups.put(key, group);
+            }
+            group[size] = position;
+            sizes.put(key, size + 1);
+        }
+        final Map<Object, SpillableRows> result = new LinkedHashMap<>(groups.size() * 2);
+        groups.forEach((key, group) -> result.put(key, new SpillableRows(storage, Arrays.copyOf(group, sizes.get(key)))));
+        return result;
+    }
+
+    /**
+     * 删除临时文件(视图与原始数据共享存储，关闭任意一个都会释放存储)
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    private int columnIndex(String column) {
+        for (int i = 0; i < storage.columns.length; i++) {
+            if (storage.columns[i].equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("列不存在: " + column);
+    }
+
+    /**
+     * 所有行的位置
+     */
+    private long[] positions() {
+        storage.checkOpen();
+        if (positions != null) {
+            return positions;
+        }
+        Assert.isTrue(storage.rows <= Integer.MAX_VALUE - 8, "数据行数太多，不能排序或者分组");
+        final long[] result = new long[(int) storage.rows];
+        long position = 0;
+        for (int row = 0; row < result.length; row++) {
+            result[row] = position;
+            position += Integer.BYTES + storage.rowLength(position);
+        }
+        return result;
+    }
+
+    private Map<String, Object> toMap(Object[] values) {
+        final Map<String, Object> row = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            row.put(storage.columns[i], values[i]);
+        }
+        return row;
+    }
+
+    private interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * int数组的稳定排序(避免装箱)
+     */
+    private static void mergeSort(int[] array, int[] buffer, int from, int to, IntComparator comparator) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                final int value = array[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(array[j], value) > 0) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = value;
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        mergeSort(array, buffer, from, mid, comparator);
+        mergeSort(array, buffer, mid, to, comparator);
+        if (comparator.compare(array[mid - 1], array[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(array, from, buffer, from, to - from);
+        int left = from, right = mid, index = from;
+        while (left < mid && right < to) {
+            array[index++] = comparator.compare(buffer[right], buffer[left]) < 0 ? buffer[right++] : buffer[left++];
+        }
+        while (left < mid) {
+            array[index++] = buffer[left++];
+        }
+        while (right < to) {
+            array[index++] = buffer[right++];
+        }
+    }
+
+    private static Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("queries", QUERIES.sum());
+        metrics.put("spilled", SPILLED.sum());
+        metrics.put("spillBytes", SPILL_BYTES.get());
+        return metrics;
+    }
+
+    /**
+     * 需要释放的资源(不能引用 Storage，否则 Cleaner 不会执行)
+     */
+    private static final class Resources implements Runnable {
+        private Path file;
+        private FileChannel channel;
+        private long fileBytes;
+        private boolean released;
+
+        @Override
+        public synchronized void run() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (file == null) {
+                return;
+            }
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除临时文件失败: {}", file, e);
+            }
+            SPILL_BYTES.addAndGet(-fileBytes);
+        }
+    }
+
+    /**
+     * 读取查询结果并写入堆外内存，超过阈值后写入临时文件
+     * <pre>
+     * 行格式: 长度(int) + [类型(byte) + 值]...
+     * 区域(segment)按行对齐，一行数据不会跨越两个内存映射区域
+     * </pre>
+     */
+    private static final class Writer implements RowCallbackHandler {
+        private final long threshold;
+        private final Resources resources = new Resources();
+        private final List<Long> segmentStarts = new ArrayList<>();
+        private String[] columns;
+        private ByteBuffer scratch = ByteBuffer.allocate(1024);
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER);
+        /**
+         * 已写入的字节数(包含 buffer 中的数据)
+         */
+        private long written;
+        private long rows;
+
+        private Writer(long threshold) {
+            this.threshold = threshold;
+            segmentStarts.add(0L);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (columns == null) {
+                columns = JdbcStreams.getColumnNames(rs.getMetaData());
+            }
+            scratch.clear();
+            scratch.putInt(0);
+            for (int i = 0; i < columns.length; i++) {
+                encode(JdbcUtils.getResultSetValue(rs, i + 1));
+            }
+            scratch.putInt(0, scratch.position() - Integer.BYTES);
+            scratch.flip();
+            try {
+                append(scratch);
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入临时文件失败", e);
+            }
+            rows++;
+        }
+
+        private void append(ByteBuffer row) throws IOException {
+            final int length = row.remaining();
+            Assert.isTrue(length <= SEGMENT_SIZE, "单行数据太大");
+            final long segmentStart = segmentStarts.get(segmentStarts.size() - 1);
+            if (written + length - segmentStart > SEGMENT_SIZE) {
+                segmentStarts.add(written);
+            }
+            if (resources.file == null && written + length > threshold) {
+                spill();
+            }
+            if (resources.file == null) {
+                ensureCapacity(buffer.position() + length);
+            } else if (buffer.remaining() < length) {
+                flushBuffer();
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocateDirect(length);
+                }
+            }
+            buffer.put(row);
+            written += length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (buffer.capacity() >= capacity) {
+                return;
+            }
+            final int newCapacity = (int) Math.min(Math.max((long) buffer.capacity() * 2, capacity), Math.max(threshold, capacity));
+            final ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity);
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+        }
+
+        private void spill() throws IOException {
+            final Path directory = DIRECTORY == null ? Files.createTempDirectory("spill") : DIRECTORY;
+            resources.file = Files.createTempFile(directory, FILE_PREFIX, ".bin");
+            resources.channel = FileChannel.open(resources.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            SPILLED.increment();
+            flushBuffer();
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            final int bytes = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                resources.channel.write(buffer);
+            }
+            buffer.clear();
+            resources.fileBytes += bytes;
+            SPILL_BYTES.addAndGet(bytes);
+        }
+
+        private Storage finish() {
+            final ByteBuffer[] segments;
+            final long[] starts = segmentStarts.stream().mapToLong(Long::longValue).toArray();
+            try {
+                if (resources.file == null) {
+                    buffer.flip();
+                    segments = new ByteBuffer[]{buffer.asReadOnlyBuffer()};
+                } else {
+                    flushBuffer();
+                    buffer = null;
+                    segments = new ByteBuffer[starts.length];
+                    for (int i = 0; i < starts.length; i++) {
+                        final long end = i + 1 < starts.length ? starts[i + 1] : written;
+                        segments[i] = resources.channel.map(FileChannel.MapMode.READ_ONLY, starts[i], end - starts[i]);
+                    }
+                }
+            } catch (IOException e) {
+                abort();
+                throw new UncheckedIOException("映射临时文件失败", e);
+            }
+            return new Storage(columns == null ? new String[0] : columns, rows, written, starts, segments, resources);
+        }
+
+        private void abort() {
+            resources.run();
+        }
+
+        private void encode(Object value) {
+            ensureScratch(16);
+            if (value == null) {
+                scratch.put(NULL);
+            } else if (value instanceof Integer v) {
+                scratch.put(INT).putInt(v);
+            } else if (value instanceof Short v) {
+                scratch.put(SHORT).putShort(v);
+            } else if (value instanceof Byte v) {
+                scratch.put(BYTE).put(v);
+            } else if (value instanceof Long v) {
+                scratch.put(LONG).putLong(v);
+            } else if (value instanceof Double v) {
+                scratch.put(DOUBLE).putDouble(v);
+            } else if (value instanceof Float v) {
+                scratch.put(FLOAT).putFloat(v);
+            } else if (value instanceof BigDecimal) {
+                putBytes(DECIMAL, value.toString().getBytes(StandardCharsets.US_ASCII));
+            } else if (value instanceof BigInteger v) {
+                putBytes(BIGINTEGER, v.toByteArray());
+            } else if (value instanceof Boolean v) {
+                scratch.put(BOOLEAN).put((byte) (v ? 1 : 0));
+            } else if (value instanceof Timestamp v) {
+                // java.sql 的日期时间类型都是 java.util.Date 的子类，必须在 java.util.Date 之前判断
+                scratch.put(TIMESTAMP).putLong(Math.floorDiv(v.getTime(), 1000L)).putInt(v.getNanos());
+            } else if (value instanceof java.sql.Date v) {
+                scratch.put(DATE).putLong(v.toLocalDate().toEpochDay());
+            } else if (value instanceof java.sql.Time v) {
+                scratch.put(TIME).putLong(v.getTime());
+            } else if (value instanceof java.util.Date v) {
+                scratch.put(UTIL_DATE).putLong(v.getTime());
+            } else if (value instanceof LocalDate v) {
+                scratch.put(LOCAL_DATE).putLong(v.toEpochDay());
+            } else if (value instanceof LocalDateTime v) {
+                scratch.put(LOCAL_DATE_TIME).putLong(v.toEpochSecond(ZoneOffset.UTC)).putInt(v.getNano());
+            } else if (value instanceof LocalTime v) {
+                scratch.put(LOCAL_TIME).putLong(v.toNanoOfDay());
+            } else if (value instanceof byte[] v) {
+                putBytes(BYTES, v);
+            } else {
+                putBytes(STRING, value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void putBytes(byte type, byte[] bytes) {
+            ensureScratch(1 + Integer.BYTES + bytes.length);
+            scratch.put(type).putInt(bytes.length).put(bytes);
+        }
+
+        private void ensureScratch(int bytes) {
+            if (scratch.remaining() < bytes) {
+                final ByteBuffer newScratch = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + bytes));
+                scratch.flip();
+                newScratch.put(scratch);
+                scratch = newScratch;
+            }
+        }
+    }
+
+    /**
+     * 只读的数据存储(原始数据和所有视图共享)
+     */
+    private static final class Storage {
+        private final String[] columns;
+        private final long rows;
+        private final long bytes;
+        private final long[] segmentStarts;
+        private final ByteBuffer[] segments;
+        private final Resources resources;
+        private final Cleaner.Cleanable cleanable;
+
+        private Storage(String[] columns, long rows, long bytes, long[] segmentStarts, ByteBuffer[] segments, Resources resources) {
+            this.columns = columns;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.segmentStarts = segmentStarts;
+            this.segments = segments;
+            this.resources = resources;
+            // 忘记调用 close 时，Storage 被回收后删除临时文件
+            this.cleanable = CLEANER.register(this, resources);
+        }
+
+        private void checkOpen() {
+            Assert.isTrue(!resources.released, "SpillableRows 已关闭");
+        }
+
+        private int segmentOf(long position) {
+            int index = Arrays.binarySearch(segmentStarts, position);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private int rowLength(long position) {
+            final int segment = segmentOf(position);
+            return segments[segment].getInt((int) (position - segmentStarts[segment]));
+        }
+
+        private Object[] decode(long position) {
+            final int segment = segmentOf(position);
+            final ByteBuffer data = segments[segment];
+            int offset = (int) (position - segmentStarts[segment]) + Integer.BYTES;
+            final Object[] values = new Object[columns.length];
+            for (int i = 0; i < values.length; i++) {
+                final byte type = data.get(offset++);
+                switch (type) {
+                    case NULL -> values[i] = null;
+                    case INT -> {
+                        values[i] = data.getInt(offset);
+                        offset += Integer.BYTES;
+                    }
+                    case SHORT -> {
+                        values[i] = data.getShort(offset);
+                        offset += Short.BYTES;
+                    }
+                    case BYTE -> values[i] = data.get(offset++);
+                    case LONG -> {
+                        values[i] = data.getLong(offset);
+                        offset += Long.BYTES;
+                    }
+                    case DOUBLE -> {
+                        values[i] = data.getDouble(offset);
+                        offset += Double.BYTES;
+                    }
+                    case FLOAT -> {
+                        values[i] = data.getFloat(offset);
+                        offset += Float.BYTES;
+                    }
+                    case BOOLEAN -> values[i] = data.get(offset++) != 0;
+                    case DATE -> {
+                        values[i] = java.sql.Date.valueOf(LocalDate.ofEpochDay(data.getLong(offset)));
+                        offset += Long.BYTES;
+                    }
+                    case TIMESTAMP -> {
+                        final Timestamp timestamp = new Timestamp(data.getLong(offset) * 1000L);
+                        timestamp.setNanos(data.getInt(offset + Long.BYTES));
+                        values[i] = timestamp;
+                        offset += Long.BYTES + Integer.BYTES;
+                    }
+                    case TIME -> {
+                        values[i] = new java.sql.Time(data.getLong(offset));
+                        offset += Long.BYTES;
+                    }
+                    case UTIL_DATE -> {
+                        values[i] = new java.util.Date(data.getLong(offset));
+                        offset += Long.BYTES;
+                    }
+                    case LOCAL_DATE -> {
+                        values[i] = LocalDate.ofEpochDay(data.getLong(offset));
+                        offset += Long.BYTES;
+                    }
+                    case LOCAL_DATE_TIME -> {
+                        values[i] = LocalDateTime.ofEpochSecond(data.getLong(offset), data.getInt(offset + Long.BYTES), ZoneOffset.UTC);
+                        offset += Long.BYTES + Integer.BYTES;
+                    }
+                    case LOCAL_TIME -> {
+                        values[i] = LocalTime.ofNanoOfDay(data.getLong(offset));
+                        offset += Long.BYTES;
+                    }
+                    case DECIMAL, STRING, BYTES, BIGINTEGER -> {
+                        final byte[] bytes = new byte[data.getInt(offset)];
+                        data.get(offset + Integer.BYTES, bytes);
+                        offset += Integer.BYTES + bytes.length;
+                        values[i] = switch (type) {
+                            case DECIMAL -> new BigDecimal(new String(bytes, StandardCharsets.US_ASCII));
+                            case STRING -> new String(bytes, StandardCharsets.UTF_8);
+                            case BIGINTEGER -> new BigInteger(bytes);
+                            default -> bytes;
+                        };
+                    }
+                    default -> throw new IllegalStateException("未知的数据类型: " + type);
+                }
+            }
+            return values;
+        }
+
+        private void close() {
+            cleanable.clean();
+        }
+    }
+}
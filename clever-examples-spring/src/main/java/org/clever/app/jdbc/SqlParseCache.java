@@ -0,0 +1,198 @@
+package org.clever.app.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.clever.app.config.SqlParseCacheConfig;
+import org.clever.app.metrics.AppMetrics;
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 命名参数SQL解析缓存(按数据源+SQL缓存解析结果，避免每次调用都重新解析SQL)
+ * <pre>
+ * 1. 缓存解析后的 ParsedSql 以及替换成 "?" 之后的SQL
+ * 2. 参数值是集合或数组时(需要展开成多个 "?")，回退到 NamedParameterUtils 逐次替换
+ * 3. 命中/未命中次数通过 AppMetrics("jdbc.parse-cache") 导出
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 20:30 <br/>
+ */
+public abstract class SqlParseCache {
+    public static final String METRICS_NAME = "jdbc.parse-cache";
+    private static volatile boolean enable = true;
+    private static volatile Cache<Key, CachedSql> cache = newCache(new SqlParseCacheConfig().getMaximumSize());
+
+    static {
+        AppMetrics.register(METRICS_NAME, SqlParseCache::metrics);
+    }
+
+    /**
+     * 根据配置初始化缓存(应用启动时调用)
+     */
+    public static void init(SqlParseCacheConfig config) {
+        Assert.notNull(config, "config 不能为 null");
+        enable = config.isEnable();
+        cache = newCache(config.getMaximumSize());
+    }
+
+    /**
+     * 获取SQL解析结果
+     *
+     * @param jdbc 数据源
+     * @param sql  sql语句(支持命名参数)
+     */
+    public static CachedSql parse(Jdbc jdbc, String sql) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        return parse(jdbc.getDataSourceName(), sql);
+    }
+
+    /**
+     * 获取SQL解析结果
+     *
+     * @param dataSourceName 数据源名称
+     * @param sql            sql语句(支持命名参数)
+     */
+    public static CachedSql parse(String dataSourceName, String sql) {
+        Assert.notBlank(sql, "sql 不能为空");
+        if (!enable) {
+            return new CachedSql(NamedParameterUtils.parseSqlStatement(sql));
+        }
+        return cache.get(new Key(dataSourceName, sql), key -> new CachedSql(NamedParameterUtils.parseSqlStatement(key.sql)));
+    }
+
+    /**
+     * 把命名参数SQL转换成 "?" 占位符的SQL和参数数组
+     *
+     * @param jdbc     数据源
+     * @param sql      sql语句(支持命名参数)
+     * @param paramMap 参数
+     */
+    public static PreparedSql prepare(Jdbc jdbc, String sql, Map<String, ?> paramMap) {
+        Assert.notNull(jdbc, "jdbc 不能为 null");
+        return prepare(jdbc.getDataSourceName(), sql, paramMap);
+    }
+
+    /**
+     * 把命名参数SQL转换成 "?" 占位符的SQL和参数数组
+     *
+     * @param dataSourceName 数据源名称
+     * @param sql            sql语句(支持命名参数)
+     * @param paramMap       参数
+     */
+    public static PreparedSql prepare(String dataSourceName, String sql, Map<String, ?> paramMap) {
+        final CachedSql cachedSql = parse(dataSourceName, sql);
+        final Map<String, ?> params = paramMap == null ? Collections.emptyMap() : paramMap;
+        final String[] names = cachedSql.parameterNames;
+        final Object[] args = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (!params.containsKey(name)) {
+                throw new InvalidDataAccessApiUsageException("No value supplied for the SQL parameter '" + name + "'");
+            }
+            final Object value = params.get(name);
+            if (needExpand(value)) {
+                // 集合参数需要根据参数值展开SQL
+                final MapSqlParameterSource source = new MapSqlParameterSource(params);
+                return new PreparedSql(
+                    NamedParameterUtils.substituteNamedParameters(cachedSql.parsedSql, source),
+                    NamedParameterUtils.buildValueArray(cachedSql.parsedSql, source, null)
+                );
+            }
+            args[i] = value;
+        }
+        return new PreparedSql(cachedSql.sqlToUse, args);
+    }
+
+    /**
+     * 缓存的统计信息
+     */
+    public static CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static Map<String, Long> metrics() {
+        final Cache<Key, CachedSql> current = cache;
+        final CacheStats stats = current.stats();
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("size", current.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+
+    private static Cache<Key, CachedSql> newCache(long maximumSize) {
+        return Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    private static boolean needExpand(Object value) {
+        if (value instanceof SqlParameterValue parameterValue) {
+            value = parameterValue.getValue();
+        }
+        return value instanceof Iterable || (value != null && value.getClass().isArray() && !(value instanceof byte[]));
+    }
+
+    private record Key(String dataSourceName, String sql) {
+    }
+
+    /**
+     * SQL解析结果
+     */
+    @Getter
+    public static final class CachedSql {
+        private final ParsedSql parsedSql;
+        /**
+         * 命名参数替换成 "?" 之后的SQL(参数值不是集合时可以直接使用)
+         */
+        private final String sqlToUse;
+        /**
+         * 按出现顺序排列的参数名
+         */
+        private final String[] parameterNames;
+
+        private CachedSql(ParsedSql parsedSql) {
+            this.parsedSql = parsedSql;
+            this.sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+            // ParsedSql 未公开参数名，让参数值等于参数名，通过 buildValueArray 按顺序读取
+            final Object[] names = NamedParameterUtils.buildValueArray(parsedSql, new AbstractSqlParameterSource() {
+                @Override
+                public boolean hasValue(String paramName) {
+                    return true;
+                }
+
+                @Override
+                public Object getValue(String paramName) {
+                    return paramName;
+                }
+            }, null);
+            this.parameterNames = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                this.parameterNames[i] = (String) names[i];
+            }
+        }
+    }
+
+    /**
+     * "?" 占位符的SQL和参数数组
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class PreparedSql {
+        private final String sql;
+        private final Object[] args;
+    }
+}
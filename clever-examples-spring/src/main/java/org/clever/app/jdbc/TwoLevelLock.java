@@ -0,0 +1,184 @@
+package org.clever.app.jdbc;
+
+import org.clever.core.Assert;
+import org.clever.data.jdbc.Jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 两级锁: JVM内的锁 + 数据库原生锁(Jdbc.nativeLock/nativeTryLock)
+ * <pre>
+ * 1. 同一个JVM内的竞争先在本地公平锁上排队，只有获得本地锁的线程才会去请求数据库锁
+ * 2. 本地等待不占用数据库连接，多线程竞争同一个key时同一时刻最多只占用一个连接
+ * 3. 支持重入: 当前线程已持有锁时直接执行，不会再次请求数据库锁
+ * 4. 本地锁按key引用计数，无人使用时自动移除(不使用分段锁，避免不同key之间产生死锁)
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 19:40 <br/>
+ */
+public class TwoLevelLock {
+    private static final Map<Jdbc, TwoLevelLock> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * 数据库原生锁操作
+     */
+    public interface NativeLock {
+        void lock(String lockName, Runnable syncBlock);
+
+        void tryLock(String lockName, int waitSeconds, Consumer<Boolean> syncBlock);
+    }
+
+    private static final class LocalLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int refs;
+    }
+
+    private final NativeLock nativeLock;
+    private final ConcurrentHashMap<String, LocalLock> locks = new ConcurrentHashMap<>();
+    /**
+     * 当前线程持有的数据库锁及重入次数
+     */
+    private final ThreadLocal<Map<String, Integer>> holding = ThreadLocal.withInitial(HashMap::new);
+
+    public TwoLevelLock(NativeLock nativeLock) {
+        Assert.notNull(nativeLock, "nativeLock 不能为 null");
+        this.nativeLock = nativeLock;
+    }
+
+    /**
+     * 获取数据源对应的两级锁(每个数据源一个实例)
+     */
+    public static TwoLevelLock of(Jdbc jdbc) {
+        return INSTANCES.computeIfAbsent(jdbc, key -> new TwoLevelLock(new NativeLock() {
+            @Override
+            public void lock(String lockName, Runnable syncBlock) {
+                key.nativeLock(lockName, syncBlock);
+            }
+
+            @Override
+            public void tryLock(String lockName, int waitSeconds, Consumer<Boolean> syncBlock) {
+                key.nativeTryLock(lockName, waitSeconds, syncBlock);
+            }
+        }));
+    }
+
+    /**
+     * 获取锁并执行同步代码块
+     *
+     * @param lockName  锁名称
+     * @param syncBlock 同步代码块
+     */
+    public void lock(String lockName, Runnable syncBlock) {
+        Assert.notBlank(lockName, "lockName 不能为空");
+        Assert.notNull(syncBlock, "syncBlock 不能为 null");
+        if (reenter(lockName, syncBlock)) {
+            return;
+        }
+        LocalLock local = acquire(lockName);
+        try {
+            local.lock.lock();
+            try {
+                nativeLock.lock(lockName, () -> runHolding(lockName, syncBlock));
+            } finally {
+                local.lock.unlock();
+            }
+        } finally {
+            release(lockName, local);
+        }
+    }
+
+    /**
+     * 尝试获取锁并执行同步代码块，本地等待与数据库等待共用 waitSeconds
+     *
+     * @param lockName    锁名称
+     * @param waitSeconds 最多等待的秒数
+     * @param syncBlock   同步代码块(参数表示是否获得锁)
+     */
+    public void tryLock(String lockName, int waitSeconds, Consumer<Boolean> syncBlock) {
+        Assert.notBlank(lockName, "lockName 不能为空");
+        Assert.notNull(syncBlock, "syncBlock 不能为 null");
+        if (reenter(lockName, () -> syncBlock.accept(true))) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(waitSeconds, 0));
+        LocalLock local = acquire(lockName);
+        try {
+            boolean locked;
+            try {
+                locked = local.lock.tryLock(Math.max(waitSeconds, 0), TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                locked = false;
+            }
+            if (!locked) {
+                syncBlock.accept(false);
+                return;
+            }
+            try {
+                // 剩余等待时间向上取整
+                long remaining = (Math.max(deadline - System.nanoTime(), 0) + 999_999_999L) / 1_000_000_000L;
+                nativeLock.tryLock(lockName, (int) remaining, nativeLocked -> {
+                    if (nativeLocked) {
+                        runHolding(lockName, () -> syncBlock.accept(true));
+                    } else {
+                        syncBlock.accept(false);
+                    }
+                });
+            } finally {
+                local.lock.unlock();
+            }
+        } finally {
+            release(lockName, local);
+        }
+    }
+
+    /**
+     * 当前线程是否持有锁
+     */
+    public boolean isHeldByCurrentThread(String lockName) {
+        return holding.get().containsKey(lockName);
+    }
+
+    private boolean reenter(String lockName, Runnable syncBlock) {
+        if (!isHeldByCurrentThread(lockName)) {
+            return false;
+        }
+        runHolding(lockName, syncBlock);
+        return true;
+    }
+
+    private void runHolding(String lockName, Runnable syncBlock) {
+        Map<String, Integer> map = holding.get();
+        map.merge(lockName, 1, Integer::sum);
+        try {
+            syncBlock.run();
+        } finally {
+            map.computeIfPresent(lockName, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private LocalLock acquire(String lockName) {
+        return locks.compute(lockName, (key, local) -> {
+            if (local == null) {
+                local = new LocalLock();
+            }
+            local.refs++;
+            return local;
+        });
+    }
+
+    private void release(String lockName, LocalLock local) {
+        locks.computeIfPresent(lockName, (key, current) -> {
+            if (current != local) {
+                return current;
+            }
+            return --current.refs > 0 ? current : null;
+        });
+    }
+}
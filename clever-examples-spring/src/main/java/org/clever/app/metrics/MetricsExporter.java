@@ -0,0 +1,194 @@
+package org.clever.app.metrics;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把 AppMetrics、SqlStats、HikariPoolMetrics 导出成 Prometheus 文本格式或者JSON数据
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 00:20 <br/>
+ */
+public abstract class MetricsExporter {
+    /**
+     * 导出的时间窗口(分钟)
+     */
+    public static final int[] WINDOWS = {1, SqlStats.WINDOW_MINUTES};
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * Prometheus 文本格式(text/plain; version=0.0.4)
+     *
+     * @param topSql 每个时间窗口最多导出的SQL数量(按总耗时倒序)
+     */
+    public static void writePrometheus(Appendable out, int topSql) throws IOException {
+        // AppMetrics(连接池指标单独导出)
+        for (Map.Entry<String, Map<String, ? extends Number>> source : AppMetrics.snapshot().entrySet()) {
+            if (source.getKey().startsWith(HikariPoolMetrics.METRICS_PREFIX)) {
+                continue;
+            }
+            for (Map.Entry<String, ? extends Number> value : source.getValue().entrySet()) {
+                String name = "app_" + metricName(source.getKey()) + "_" + metricName(value.getKey());
+                out.append("# TYPE ").append(name).append(" gauge\n");
+                out.append(name).append(' ').append(format(value.getValue())).append('\n');
+            }
+        }
+        // SQL执行耗时
+        final Map<Integer, List<SqlStats.Summary>> sqlSummaries = new LinkedHashMap<>();
+        for (int window : WINDOWS) {
+            sqlSummaries.put(window, SqlStats.summary(window, topSql));
+        }
+        out.append("# TYPE jdbc_sql_duration_ms summary\n");
+        for (Map.Entry<Integer, List<SqlStats.Summary>> entry : sqlSummaries.entrySet()) {
+            for (SqlStats.Summary summary : entry.getValue()) {
+                String labels = "window=\"" + entry.getKey() + "m\",sql=\"" + escape(summary.getSql()) + "\"";
+                out.append("jdbc_sql_duration_ms{").append(labels).append(",quantile=\"0.5\"} ").append(String.valueOf(summary.getP50Millis())).append('\n');
+                out.append("jdbc_sql_duration_ms{").append(labels).append(",quantile=\"0.95\"} ").append(String.valueOf(summary.getP95Millis())).append('\n');
+                out.append("jdbc_sql_duration_ms{").append(labels).append(",quantile=\"0.99\"} ").append(String.valueOf(summary.getP99Millis())).append('\n');
+                out.append("jdbc_sql_duration_ms_sum{").append(labels).append("} ").append(String.valueOf(summary.getSumMillis())).append('\n');
+                out.append("jdbc_sql_duration_ms_count{").append(labels).append("} ").append(String.valueOf(summary.getCount())).append('\n');
+            }
+        }
+        out.append("# TYPE jdbc_sql_duration_ms_max gauge\n");
+        for (Map.Entry<Integer, List<SqlStats.Summary>> entry : sqlSummaries.entrySet()) {
+            for (SqlStats.Summary summary : entry.getValue()) {
+                out.append("jdbc_sql_duration_ms_max{window=\"").append(String.valueOf(entry.getKey())).append("m\",sql=\"").append(escape(summary.getSql())).append("\"} ")
+                    .append(String.valueOf(summary.getMaxMillis())).append('\n');
+            }
+        }
+        // 连接池
+        final Map<String, HikariPoolMetrics.Pool> pools = HikariPoolMetrics.getPools();
+        out.append("# TYPE hikari_connections gauge\n");
+        for (HikariPoolMetrics.Pool pool : pools.values()) {
+            String poolLabel = "pool=\"" + escape(pool.getName()) + "\"";
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"active\"} ").append(String.valueOf(pool.getActive())).append('\n');
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"idle\"} ").append(String.valueOf(pool.getIdle())).append('\n');
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"total\"} ").append(String.valueOf(pool.getTotal())).append('\n');
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"pending\"} ").append(String.valueOf(pool.getPending())).append('\n');
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"max\"} ").append(String.valueOf(pool.getMax())).append('\n');
+            out.append("hikari_connections{").append(poolLabel).append(",state=\"min\"} ").append(String.valueOf(pool.getMin())).append('\n');
+        }
+        out.append("# TYPE hikari_connection_timeouts_total counter\n");
+        for (HikariPoolMetrics.Pool pool : pools.values()) {
+            out.append("hikari_connection_timeouts_total{pool=\"").append(escape(pool.getName())).append("\"} ").append(String.valueOf(pool.getTimeouts().sum())).append('\n');
+        }
+        writeHistograms(out, "hikari_acquire_duration_us", pools.values().stream().map(pool -> Map.entry(pool.getName(), pool.getAcquireMicros())).toList());
+        writeHistograms(out, "hikari_usage_duration_ms", pools.values().stream().map(pool -> Map.entry(pool.getName(), pool.getUsageMillis())).toList());
+    }
+
+    /**
+     * JSON数据(包含每个SQL最慢的执行记录)
+     *
+     * @param topSql 每个时间窗口最多导出的SQL数量(按总耗时倒序)
+     */
+    public static Map<String, Object> toJson(int topSql) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("app", AppMetrics.snapshot());
+        Map<String, Object> sql = new LinkedHashMap<>();
+        for (int window : WINDOWS) {
+            sql.put(window + "m", SqlStats.summary(window, topSql));
+        }
+        result.put("sql", sql);
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (HikariPoolMetrics.Pool pool : HikariPoolMetrics.getPools().values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("active", pool.getActive());
+            item.put("idle", pool.getIdle());
+            item.put("total", pool.getTotal());
+            item.put("pending", pool.getPending());
+            item.put("max", pool.getMax());
+            item.put("min", pool.getMin());
+            item.put("timeouts", pool.getTimeouts().sum());
+            for (int window : WINDOWS) {
+                item.put("acquireMicros" + window + "m", toMap(pool.getAcquireMicros().snapshot(window)));
+                item.put("usageMillis" + window + "m", toMap(pool.getUsageMillis().snapshot(window)));
+            }
+            pools.put(pool.getName(), item);
+        }
+        result.put("hikari", pools);
+        return result;
+    }
+
+    private static void writeHistograms(Appendable out, String name, List<Map.Entry<String, WindowedHistogram>> histograms) throws IOException {
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (Map.Entry<String, WindowedHistogram> histogram : histograms) {
+            for (int window : WINDOWS) {
+                LatencyHistogram.Snapshot snapshot = histogram.getValue().snapshot(window);
+                String labels = "pool=\"" + escape(histogram.getKey()) + "\",window=\"" + window + "m\"";
+                for (double quantile : QUANTILES) {
+                    out.append(name).append('{').append(labels).append(",quantile=\"").append(String.valueOf(quantile)).append("\"} ")
+                        .append(String.valueOf(snapshot.percentile(quantile))).append('\n');
+                }
+                out.append(name).append("_sum{").append(labels).append("} ").append(String.valueOf(snapshot.getSum())).append('\n');
+                out.append(name).append("_count{").append(labels).append("} ").append(String.valueOf(snapshot.getCount())).append('\n');
+            }
+        }
+    }
+
+    private static Map<String, Object> toMap(LatencyHistogram.Snapshot snapshot) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", snapshot.getCount());
+        map.put("sum", snapshot.getSum());
+        map.put("max", snapshot.getMax());
+        map.put("p50", snapshot.percentile(0.50));
+        map.put("p95", snapshot.percentile(0.95));
+        map.put("p99", snapshot.percentile(0.99));
+        return map;
+    }
+
+    /**
+     * jdbc.parse-cache -> jdbc_parse_cache, hitCount -> hit_count
+     */
+    private static String metricName(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                if (!result.isEmpty() && result.charAt(result.length() - 1) != '_') {
+                    result.append('_');
+                }
+                result.append(Character.toLowerCase(ch));
+            } else if ((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')) {
+                result.append(ch);
+            } else if (!result.isEmpty() && result.charAt(result.length() - 1) != '_') {
+                result.append('_');
+            }
+        }
+        return result.toString();
+    }
+
+    private static String format(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = value.doubleValue();
+            if (Double.isNaN(number)) {
+                return "NaN";
+            }
+            if (Double.isInfinite(number)) {
+                return number > 0 ? "+Inf" : "-Inf";
+            }
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * 标签值转义(反斜杠、双引号、换行)
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '\\' -> result.append("\\\\");
+                case '"' -> result.append("\\\"");
+                case '\n' -> result.append("\\n");
+                default -> result.append(ch);
+            }
+        }
+        return result.toString();
+    }
+}
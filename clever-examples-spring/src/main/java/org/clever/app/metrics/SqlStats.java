@@ -0,0 +1,279 @@
+package org.clever.app.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.clever.app.config.SqlMetricsConfig;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按SQL(规范化之后的预编译SQL)统计执行次数、耗时分布和最慢的执行记录，由 AsyncSqlLogger 的后台线程写入
+ * <pre>
+ * 1. 数据按分钟分片，保留最近 WINDOW_MINUTES + 1 个分片，查询最近N分钟(如: 1分钟、15分钟)时合并当前分片和之前N个分片，
+ *    当前分片只有部分数据，多合并一个分片保证统计范围始终覆盖完整的N分钟(最多多出不到1分钟)，不会在每分钟开始时数据骤减
+ * 2. 每分钟最多统计 max-sql-count 个SQL，超出的计入 OTHER_SQL，所以内存占用与SQL的数量无关
+ * 3. SQL中的字符串、数字常量替换成"?"，连续的空白字符替换成一个空格
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 23:40 <br/>
+ */
+public abstract class SqlStats {
+    public static final String METRICS_NAME = "jdbc.sql";
+    public static final String OTHER_SQL = "<other>";
+    public static final int WINDOW_MINUTES = 15;
+    /**
+     * 分片数量，比 WINDOW_MINUTES 多一个分片用于补齐当前分钟(不完整)的数据
+     */
+    public static final int SLOTS = WINDOW_MINUTES + 1;
+
+    private static volatile SqlMetricsConfig CONFIG = new SqlMetricsConfig();
+    private static final AtomicReferenceArray<Window> WINDOWS = new AtomicReferenceArray<>(SLOTS);
+    private static final LongAdder STATEMENTS = new LongAdder();
+    private static final LongAdder OVERFLOW = new LongAdder();
+
+    /**
+     * 应用配置(会清空已有的统计数据)
+     */
+    public static void init(SqlMetricsConfig config) {
+        CONFIG = config;
+        for (int i = 0; i < SLOTS; i++) {
+            WINDOWS.set(i, null);
+        }
+        if (config.isEnable()) {
+            AppMetrics.register(METRICS_NAME, SqlStats::metrics);
+        } else {
+            AppMetrics.unregister(METRICS_NAME);
+        }
+    }
+
+    public static SqlMetricsConfig getConfig() {
+        return CONFIG;
+    }
+
+    /**
+     * 记录一次SQL执行
+     *
+     * @param prepared      预编译SQL
+     * @param sql           包含参数的SQL
+     * @param elapsedMillis 执行耗时(毫秒)
+     */
+    public static void record(String prepared, String sql, long elapsedMillis) {
+        final SqlMetricsConfig config = CONFIG;
+        if (!config.isEnable() || prepared == null) {
+            return;
+        }
+        STATEMENTS.increment();
+        final long now = System.currentTimeMillis();
+        final Window window = currentWindow(TimeUnit.MILLISECONDS.toMinutes(now));
+        final String key = normalize(prepared);
+        Entry entry = window.entries.get(key);
+        if (entry == null) {
+            if (window.entries.size() >= config.getMaxSqlCount()) {
+                OVERFLOW.increment();
+                entry = window.entries.computeIfAbsent(OTHER_SQL, k -> new Entry());
+            } else {
+                entry = window.entries.computeIfAbsent(key, k -> new Entry());
+            }
+        }
+        entry.histogram.record(elapsedMillis);
+        entry.offerSample(elapsedMillis, sql, now, config.getHistogramTopN());
+    }
+
+    /**
+     * 合并最近 minutes 分钟的数据(当前分片 + 之前 minutes 个分片)，按总耗时倒序
+     *
+     * @param minutes 1 ~ WINDOW_MINUTES
+     * @param limit   最多返回的SQL数量
+     */
+    public static List<Summary> summary(int minutes, int limit) {
+        minutes = Math.max(1, Math.min(minutes, WINDOW_MINUTES));
+        final long currentMinute = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+        final Map<String, LatencyHistogram.Snapshot> snapshots = new HashMap<>();
+        final Map<String, List<Sample>> samples = new HashMap<>();
+        for (int i = 0; i < SLOTS; i++) {
+            final Window window = WINDOWS.get(i);
+            if (window == null || window.minute > currentMinute || window.minute < currentMinute - minutes) {
+                continue;
+            }
+            window.entries.forEach((sql, entry) -> {
+                entry.histogram.mergeTo(snapshots.computeIfAbsent(sql, key -> new LatencyHistogram.Snapshot()));
+                samples.computeIfAbsent(sql, key -> new ArrayList<>()).addAll(entry.getSamples());
+            });
+        }
+        final int topN = CONFIG.getHistogramTopN();
+        return snapshots.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram.Snapshot> e) -> e.getValue().getSum()).reversed())
+            .limit(Math.max(limit, 0))
+            .map(e -> {
+                List<Sample> slowest = samples.getOrDefault(e.getKey(), Collections.emptyList()).stream()
+                    .sorted(Comparator.comparingLong(Sample::getElapsedMillis).reversed())
+                    .limit(topN)
+                    .toList();
+                return new Summary(e.getKey(), e.getValue(), slowest);
+            })
+            .toList();
+    }
+
+    /**
+     * 规范化SQL: 字符串、数字常量替换成"?"，连续的空白字符替换成一个空格
+     */
+    public static String normalize(String sql) {
+        final int length = sql.length();
+        final StringBuilder result = new StringBuilder(length);
+        boolean space = false;
+        int i = 0;
+        while (i < length) {
+            final char ch = sql.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (space && !result.isEmpty()) {
+                result.append(' ');
+            }
+            space = false;
+            if (ch == '\'') {
+                // 字符串常量('' 表示转义的单引号)
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                result.append('?');
+                i++;
+            } else if (Character.isDigit(ch) && !isIdentifierPart(result)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                result.append('?');
+            } else {
+                result.append(ch);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder result) {
+        if (result.isEmpty()) {
+            return false;
+        }
+        final char last = result.charAt(result.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$' || last == '"' || last == '`';
+    }
+
+    private static Window currentWindow(long minute) {
+        final int index = (int) (minute % SLOTS);
+        Window window = WINDOWS.get(index);
+        // 过期的分片直接替换，正在读取它的线程不受影响
+        while (window == null || window.minute < minute) {
+            WINDOWS.compareAndSet(index, window, new Window(minute));
+            window = WINDOWS.get(index);
+        }
+        return window;
+    }
+
+    private static Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        Window window = WINDOWS.get((int) (TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis()) % SLOTS));
+        metrics.put("statements", STATEMENTS.sum());
+        metrics.put("distinctSql", window == null ? 0 : window.entries.size());
+        metrics.put("overflow", OVERFLOW.sum());
+        return metrics;
+    }
+
+    /**
+     * 一分钟的数据
+     */
+    private static final class Window {
+        private final long minute;
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private Window(long minute) {
+            this.minute = minute;
+        }
+    }
+
+    private static final class Entry {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        /**
+         * 最慢的执行记录(按耗时倒序)
+         */
+        private Sample[] samples = new Sample[0];
+        private volatile long minSampleMillis = -1;
+
+        private void offerSample(long elapsedMillis, String sql, long time, int topN) {
+            if (topN <= 0 || (elapsedMillis <= minSampleMillis && samples.length >= topN)) {
+                return;
+            }
+            synchronized (this) {
+                List<Sample> list = new ArrayList<>(Arrays.asList(samples));
+                list.add(new Sample(elapsedMillis, sql, time));
+                list.sort(Comparator.comparingLong(Sample::getElapsedMillis).reversed());
+                if (list.size() > topN) {
+                    list = list.subList(0, topN);
+                }
+                samples = list.toArray(new Sample[0]);
+                minSampleMillis = samples[samples.length - 1].elapsedMillis;
+            }
+        }
+
+        private synchronized List<Sample> getSamples() {
+            return Arrays.asList(samples);
+        }
+    }
+
+    /**
+     * 一次SQL执行记录
+     */
+    @AllArgsConstructor
+    @Getter
+    public static final class Sample {
+        private final long elapsedMillis;
+        /**
+         * 包含参数的SQL
+         */
+        private final String sql;
+        private final long time;
+    }
+
+    /**
+     * 一个SQL在一段时间内的统计数据
+     */
+    @Getter
+    public static final class Summary {
+        private final String sql;
+        private final long count;
+        private final long sumMillis;
+        private final long maxMillis;
+        private final double avgMillis;
+        private final long p50Millis;
+        private final long p95Millis;
+        private final long p99Millis;
+        private final List<Sample> slowest;
+
+        private Summary(String sql, LatencyHistogram.Snapshot snapshot, List<Sample> slowest) {
+            this.sql = sql;
+            this.count = snapshot.getCount();
+            this.sumMillis = snapshot.getSum();
+            this.maxMillis = snapshot.getMax();
+            this.avgMillis = snapshot.getAvg();
+            this.p50Millis = snapshot.percentile(0.50);
+            this.p95Millis = snapshot.percentile(0.95);
+            this.p99Millis = snapshot.percentile(0.99);
+            this.slowest = slowest;
+        }
+    }
+}
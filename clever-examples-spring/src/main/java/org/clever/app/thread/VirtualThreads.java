@@ -0,0 +1,92 @@
+package org.clever.app.thread;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 虚拟线程工具(项目使用jdk17编译，在jdk21+运行时通过反射使用虚拟线程，否则退回到平台线程)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 14:20 <br/>
+ */
+@Slf4j
+public abstract class VirtualThreads {
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException ignored) {
+            // jdk21以下不支持虚拟线程
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 创建虚拟线程的 ThreadFactory，不支持虚拟线程时返回 null
+     *
+     * @param namePrefix 线程名称前缀
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.warn("创建虚拟线程工厂失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 创建执行器，支持虚拟线程时每个任务使用一个虚拟线程，否则使用固定大小的平台线程池
+     *
+     * @param namePrefix      线程名称前缀
+     * @param fallbackThreads 不支持虚拟线程时平台线程池的大小
+     */
+    public static ExecutorService newExecutor(String namePrefix, int fallbackThreads) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        if (threadFactory != null) {
+            try {
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                log.warn("创建虚拟线程执行器失败，使用平台线程", e);
+            }
+        }
+        final AtomicInteger counter = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(fallbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,474 @@
+package org.clever.app.web;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.clever.app.config.StaticAssetConfig;
+import org.clever.core.Assert;
+import org.clever.core.ResourcePathUtils;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+
+import java.io.*;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态资源引擎: 启动时(以及文件变化时)为 web.resources.mappings 中的目录建立索引
+ * <pre>
+ * 1. 计算文件内容的 SHA-256 作为强 ETag
+ * 2. 预先生成 gzip 压缩文件(JDK没有 brotli 实现，只生成 gzip)
+ * 3. 小文件缓存在内存中，大文件复制到 cache-dir(文件名为内容hash)后使用 sendfile/内存映射/FileChannel 输出(不会把整个文件读入堆内存)
+ * 4. 只输出 cache-dir 中不会被修改的副本，源文件被截断或重写不影响正在输出的内容和 ETag
+ * 5. 启动时以及重新建立索引后删除 cache-dir 中不再使用的文件(cache-dir 不能与其它进程共用)
+ * 6. 文件名包含内容hash的文件使用 immutable 缓存
+ * 7. 只支持文件系统目录，classpath 等其它位置由原有的静态资源处理
+ * </pre>
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 22:30 <br/>
+ */
+@Slf4j
+public class StaticAssets implements Closeable {
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+    /**
+     * cache-dir 中由索引生成的文件: {hash} 或 {hash}.gz
+     */
+    private static final Pattern CACHE_FILE_NAME = Pattern.compile("^[0-9a-f]{64}(\\.gz)?$");
+    /**
+     * 写入 cache-dir 时使用的临时文件(进程异常退出时会遗留)
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    static {
+        CONTENT_TYPES.put("html", "text/html;charset=utf-8");
+        CONTENT_TYPES.put("htm", "text/html;charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css;charset=utf-8");
+        CONTENT_TYPES.put("js", "text/javascript;charset=utf-8");
+        CONTENT_TYPES.put("mjs", "text/javascript;charset=utf-8");
+        CONTENT_TYPES.put("map", "application/json;charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json;charset=utf-8");
+        CONTENT_TYPES.put("txt", "text/plain;charset=utf-8");
+        CONTENT_TYPES.put("xml", "application/xml;charset=utf-8");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("wasm", "application/wasm");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("webp", "image/webp");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+        CONTENT_TYPES.put("ttf", "font/ttf");
+        CONTENT_TYPES.put("woff", "font/woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+    }
+
+    public static StaticAssets create(String rootPath, Environment environment) {
+        StaticAssetConfig config = StaticAssetConfig.create(environment);
+        List<Mount> mounts = new ArrayList<>();
+        if (config.isEnable() && Binder.get(environment).bind("web.resources.enable", Boolean.class).orElse(false)) {
+            List<ResourceMapping> mappings = Binder.get(environment)
+                .bind("web.resources.mappings", Bindable.listOf(ResourceMapping.class))
+                .orElse(Collections.emptyList());
+            for (ResourceMapping mapping : mappings) {
+                if (StringUtils.isBlank(mapping.getHostedPath()) || StringUtils.isBlank(mapping.getLocation())) {
+                    continue;
+                }
+                Path directory = getDirectory(rootPath, mapping.getLocation());
+                if (directory == null) {
+                    log.info("静态资源引擎只支持文件系统目录，忽略: {}", mapping.getLocation());
+                    continue;
+                }
+                String hostedPath = StringUtils.removeEnd(StringUtils.removeEnd(mapping.getHostedPath(), "**"), "*");
+                mounts.add(new Mount(StringUtils.appendIfMissing(hostedPath, "/"), directory));
+            }
+        }
+        return new StaticAssets(rootPath, config, mounts);
+    }
+
+    private final StaticAssetConfig config;
+    private final Pattern immutablePattern;
+    private final Path cacheDir;
+    /**
+     * 最长的 hostedPath 优先匹配
+     */
+    private final List<Mount> mounts;
+    private final WatchService watchService;
+
+    /**
+     * @param rootPath 应用根路径(app.root-path)，cache-dir 为相对路径时基于该路径
+     */
+    @SneakyThrows
+    public StaticAssets(String rootPath, StaticAssetConfig config, List<Mount> mounts) {
+        this.config = config;
+        this.immutablePattern = Pattern.compile(config.getImmutablePattern());
+        this.mounts = mounts.stream().sorted(Comparator.comparingInt((Mount mount) -> mount.hostedPath.length()).reversed()).toList();
+        if (this.mounts.isEmpty()) {
+            this.cacheDir = null;
+            this.watchService = null;
+            return;
+        }
+        Assert.isTrue(StringUtils.isNotBlank(config.getCacheDir()), "配置 cache-dir 不能为空");
+        this.cacheDir = Files.createDirectories(Paths.get(rootPath).resolve(config.getCacheDir()).toAbsolutePath().normalize());
+        // 清除上次运行遗留的临时文件，遗留的缓存文件在建立索引后由 removeStaleFiles 删除
+        removeTempFiles();
+        this.watchService = config.isWatch() ? FileSystems.getDefault().newWatchService() : null;
+        for (Mount mount : this.mounts) {
+            index(mount);
+        }
+        removeStaleFiles();
+        if (watchService != null) {
+            Thread thread = new Thread(this::watch, "static-assets-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * 根据请求路径查找静态资源，不存在返回 null
+     */
+    public Asset find(String path) {
+        for (Mount mount : mounts) {
+            if (!path.startsWith(mount.hostedPath) && !(path + "/").equals(mount.hostedPath)) {
+                continue;
+            }
+            String relative = path.length() > mount.hostedPath.length() ? path.substring(mount.hostedPath.length()) : "";
+            if (relative.isEmpty() || relative.endsWith("/")) {
+                relative = relative + "index.html";
+            }
+            Asset asset = mount.assets.get(relative);
+            if (asset != null) {
+                return asset;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEnable() {
+        return !mounts.isEmpty();
+    }
+
+    public StaticAssetConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 为目录建立索引，文件大小和修改时间没变的文件复用之前的结果
+     */
+    private void index(Mount mount) {
+        final long startTime = System.currentTimeMillis();
+        final Map<String, Asset> previous = mount.assets;
+        final Map<String, Asset> assets = new ConcurrentHashMap<>(Math.max(16, previous.size() * 2));
+        try (Stream<Path> paths = Files.walk(mount.directory)) {
+            paths.forEach(path -> {
+                try {
+                    if (Files.isDirectory(path)) {
+                        if (watchService != null) {
+                            path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                        }
+                        return;
+                    }
+                    if (!Files.isRegularFile(path)) {
+                        return;
+                    }
+                    String relative = mount.directory.relativize(path).toString().replace(File.separatorChar, '/');
+                    Asset asset = previous.get(relative);
+                    long size = Files.size(path);
+                    long lastModified = Files.getLastModifiedTime(path).toMillis();
+                    if (asset == null || asset.sourceSize != size || asset.lastModified != lastModified) {
+                        asset = createAsset(path, relative, size, lastModified);
+                    }
+                    assets.put(relative, asset);
+                } catch (IOException e) {
+                    log.warn("读取静态资源失败: {}", path, e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("扫描静态资源目录失败: {}", mount.directory, e);
+            return;
+        }
+        mount.assets = assets;
+        log.info("静态资源索引 | {} -> {} | 文件数: {} | 耗时: {}ms", mount.hostedPath, mount.directory, assets.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private Asset createAsset(Path path, String relative, long sourceSize, long lastModified) throws IOException {
+        final String contentType = getContentType(relative);
+        final String fileName = path.getFileName().toString();
+        final boolean immutable = immutablePattern.matcher(fileName).matches();
+        final String hash;
+        final Body identity;
+        if (sourceSize <= config.getMemoryMaxSize().toBytes()) {
+            // hash 和输出的内容来自同一次读取
+            final byte[] bytes = Files.readAllBytes(path);
+            hash = sha256(bytes);
+            identity = new Body(path, bytes.length, "\"" + hash.substring(0, 32) + "\"", bytes);
+        } else {
+            // 源文件可能被修改，复制一份不会被修改的副本(复制时计算hash)
+            final MessageDigest digest = newSha256();
+            final Path tmp = Files.createTempFile(cacheDir, "identity", TEMP_FILE_SUFFIX);
+            try {
+                try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+                    Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                hash = HexFormat.of().formatHex(digest.digest());
+                final Path file = cacheDir.resolve(hash);
+                if (!Files.exists(file)) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                identity = new Body(file, Files.size(file), "\"" + hash.substring(0, 32) + "\"", null);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        Body gzip = null;
+        if (identity.size >= config.getCompressMinSize().toBytes() && isCompressible(contentType)) {
+            Path gzipFile = cacheDir.resolve(hash + ".gz");
+            if (!Files.exists(gzipFile)) {
+                Path tmp = Files.createTempFile(cacheDir, hash, TEMP_FILE_SUFFIX);
+                try (InputStream in = identity.bytes != null ? new ByteArrayInputStream(identity.bytes) : Files.newInputStream(identity.file);
+                     OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024) {{
+                         def.setLevel(Deflater.BEST_COMPRESSION);
+                     }}) {
+                    in.transferTo(out);
+                }
+                Files.move(tmp, gzipFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            long gzipSize = Files.size(gzipFile);
+            // 压缩效果不明显的文件不使用压缩版本
+            if (gzipSize < identity.size * 0.9) {
+                gzip = new Body(gzipFile, gzipSize, "\"" + hash.substring(0, 32) + "-gz\"", readIfSmall(gzipFile, gzipSize));
+            }
+        }
+        return new Asset(relative, contentType, sourceSize, lastModified, immutable, identity, gzip);
+    }
+
+    /**
+     * 删除 cache-dir 中不再被索引引用的文件(Windows下被内存映射的文件删除失败，下次重建索引时再删除)
+     */
+    private void removeStaleFiles() {
+        final Set<Path> used = new HashSet<>();
+        for (Mount mount : mounts) {
+            for (Asset asset : mount.assets.values()) {
+                used.add(asset.identity.file);
+                if (asset.gzip != null) {
+                    used.add(asset.gzip.file);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(file -> CACHE_FILE_NAME.matcher(file.getFileName().toString()).matches() && !used.contains(file)).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.debug("删除静态资源缓存文件失败: {}", file, e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("清理静态资源缓存目录失败: {}", cacheDir, e);
+        }
+    }
+
+    private void removeTempFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*" + TEMP_FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private byte[] readIfSmall(Path path, long size) throws IOException {
+        return size <= config.getMemoryMaxSize().toBytes() ? Files.readAllBytes(path) : null;
+    }
+
+    /**
+     * 监听文件变化，变化后(合并200ms内的多次变化)重新建立索引
+     */
+    private void watch() {
+        while (true) {
+            try {
+                WatchKey key = watchService.take();
+                Set<Mount> changed = new HashSet<>();
+                do {
+                    Path dir = (Path) key.watchable();
+                    key.pollEvents();
+                    key.reset();
+                    for (Mount mount : mounts) {
+                        if (dir.startsWith(mount.directory)) {
+                            changed.add(mount);
+                        }
+                    }
+                    key = watchService.poll(200, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                changed.forEach(this::index);
+                removeStaleFiles();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("静态资源文件监听异常", e);
+            }
+        }
+    }
+
+    private static Path getDirectory(String rootPath, String location) {
+        try {
+            Resource resource = ResourcePathUtils.getResource(rootPath, location);
+            if (resource.exists() && resource.isFile() && resource.getFile().isDirectory()) {
+                return resource.getFile().toPath().toAbsolutePath().normalize();
+            }
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
+
+    private static String getContentType(String fileName) {
+        String ext = StringUtils.lowerCase(StringUtils.substringAfterLast(fileName, "."));
+        String contentType = CONTENT_TYPES.get(ext);
+        if (contentType == null) {
+            contentType = URLConnection.getFileNameMap().getContentTypeFor(fileName);
+        }
+        return contentType == null ? "application/octet-stream" : contentType;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/")
+            || contentType.contains("javascript")
+            || contentType.contains("json")
+            || contentType.contains("xml")
+            || contentType.contains("wasm");
+    }
+
+    private static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(newSha256().digest(data));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 只用于绑定 web.resources.mappings
+     */
+    @Data
+    public static class ResourceMapping {
+        private String hostedPath;
+        private String location;
+    }
+
+    public static final class Mount {
+        private final String hostedPath;
+        private final Path directory;
+        private volatile Map<String, Asset> assets = Collections.emptyMap();
+
+        public Mount(String hostedPath, Path directory) {
+            this.hostedPath = hostedPath;
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * 静态资源文件
+     */
+    @Getter
+    public static final class Asset {
+        private final String path;
+        private final String contentType;
+        /**
+         * 源文件大小(用于判断文件是否变化)
+         */
+        private final long sourceSize;
+        private final long lastModified;
+        private final boolean immutable;
+        /**
+         * 原始文件内容(大文件为 cache-dir 中的副本)
+         */
+        private final Body identity;
+        /**
+         * gzip 压缩文件(不需要压缩时为 null)
+         */
+        private final Body gzip;
+
+        private Asset(String path, String contentType, long sourceSize, long lastModified, boolean immutable, Body identity, Body gzip) {
+            this.path = path;
+            this.contentType = contentType;
+            this.sourceSize = sourceSize;
+            this.lastModified = lastModified;
+            this.immutable = immutable;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+    }
+
+    /**
+     * 文件内容
+     */
+    @Getter
+    public static final class Body {
+        /**
+         * 输出使用的文件(cache-dir 中不会被修改的文件，内存中的小文件为源文件)
+         */
+        private final Path file;
+        private final long size;
+        private final String etag;
+        /**
+         * 小文件的内容(大文件为 null)
+         */
+        private final byte[] bytes;
+        private volatile ByteBuffer mapped;
+
+        private Body(Path file, long size, String etag, byte[] bytes) {
+            this.file = file;
+            this.size = size;
+            this.etag = etag;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 内存映射的文件内容(只读，使用时需要 duplicate)
+         */
+        public ByteBuffer getMapped() throws IOException {
+            ByteBuffer buffer = mapped;
+            if (buffer == null) {
+                synchronized (this) {
+                    buffer = mapped;
+                    if (buffer == null) {
+                        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        }
+                        mapped = buffer;
+                    }
+                }
+            }
+            return buffer;
+        }
+    }
+}
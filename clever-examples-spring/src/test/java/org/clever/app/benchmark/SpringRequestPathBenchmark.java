@@ -0,0 +1,89 @@
+package org.clever.app.benchmark;
+
+import org.clever.app.StartSpringApp;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring部署方式下完整请求链路的性能测试(12个FilterRegistrationBean + MVC), 使用H2代替 mysql、postgresql 数据源。
+ * 使用 Mode.SampleTime 的结果获取 p99 延迟
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 10:26 <br/>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SpringRequestPathBenchmark {
+    /**
+     * false: 每个Filter单独注册 | true: 预编译的过滤器链(web.filter-pipeline.enable)
+     */
+    @Param({"false", "true"})
+    public boolean filterPipeline;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(StartSpringApp.class);
+        context = application.run("--spring.profiles.active=bench", "--web.filter-pipeline.enable=" + filterPipeline);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = new BenchmarkHttpClient(port);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // MvcTest.t01 | Map + Entity1 Jackson序列化
+    @Benchmark
+    public String t01() {
+        return client.get("/api/app/MvcTest@t01");
+    }
+
+    // MvcTest.t05 | RequestParamMethodArgumentResolver
+    @Benchmark
+    public String t05() {
+        return client.get("/api/app/MvcTest@t05?a=1&b=2023-01-01%2000:00:00");
+    }
+
+    // MvcTest.t06 | RequestParamMapMethodArgumentResolver
+    @Benchmark
+    public String t06() {
+        return client.get("/api/app/MvcTest@t06?a=1&b=2&c=3&c=4");
+    }
+
+    // MvcTest.t07 | RequestBodyMethodProcessor
+    @Benchmark
+    public String t07() {
+        return client.postJson("/api/app/MvcTest@t07", "{\"a\":\"abc\",\"b\":\"2023-01-01 00:00:00\"}");
+    }
+
+    // MvcTest.t12 | RequestBody + Validated
+    @Benchmark
+    public String t12() {
+        return client.postJson("/api/app/MvcTest@t12", "{\"a\":\"abc\",\"b\":1}");
+    }
+
+    // 静态资源(完整的过滤器链)
+    @Benchmark
+    public String staticFile() {
+        return client.get("/index.html");
+    }
+
+    // 404(完整的过滤器链)
+    @Benchmark
+    public String notFound() {
+        return client.get("/api/app/MvcTest@not_exists", 404);
+    }
+}
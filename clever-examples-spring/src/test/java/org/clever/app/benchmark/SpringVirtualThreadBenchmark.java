@@ -0,0 +1,50 @@
+package org.clever.app.benchmark;
+
+import org.clever.app.StartSpringApp;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞请求(MvcTest.t09 Thread.sleep(100))在并发数超过 server.tomcat.threads.max(200) 时的性能测试，
+ * 对比平台线程池与虚拟线程(web.use-virtual-threads -> spring.threads.virtual.enabled, 需要jdk21+)
+ * <p>
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/18 15:05 <br/>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(500)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SpringVirtualThreadBenchmark {
+    @Param({"false", "true"})
+    public boolean useVirtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(StartSpringApp.class);
+        context = application.run("--spring.profiles.active=bench", "--web.use-virtual-threads=" + useVirtualThreads);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = new BenchmarkHttpClient(port);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // MvcTest.t09 | RequestHeader + Thread.sleep(100)
+    @Benchmark
+    public String t09() {
+        return client.get("/api/app/MvcTest@t09", "a", "abc");
+    }
+}
@@ -0,0 +1,101 @@
+package org.clever.app.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 10:20 <br/>
+ */
+public class IdAllocatorTest {
+    /**
+     * 模拟数据库序列 next_ids(每次申请有一定的耗时)
+     */
+    private static BiFunction<String, Integer, List<Long>> sequence(AtomicLong counter, Set<String> threads) {
+        return (seqName, size) -> {
+            threads.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long start = counter.getAndAdd(size);
+            List<Long> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ids.add(start + i);
+            }
+            return ids;
+        };
+    }
+
+    @Test
+    public void nextIdConcurrentUnique() throws Exception {
+        final int threadCount = 32;
+        final int idsPerThread = 5000;
+        final AtomicLong counter = new AtomicLong(1);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final IdAllocator allocator = new IdAllocator("test", sequence(counter, threads), 16, 256, 5);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(allocator.nextId("seq_test"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threadCount * idsPerThread, ids.size(), "ID重复");
+        // 号段只在ID生成器自己的线程中申请
+        assertEquals(Set.of("id-allocator-test"), threads);
+    }
+
+    @Test
+    public void nextIdsLargerThanBlock() {
+        final AtomicLong counter = new AtomicLong(1);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final IdAllocator allocator = new IdAllocator("test", sequence(counter, threads), 16, 256, 5);
+        final long first = allocator.nextId("seq_test");
+        final List<Long> ids = allocator.nextIds("seq_test", 1000);
+        assertEquals(1000, ids.size());
+        assertEquals(1000, Set.copyOf(ids).size());
+        assertFalse(ids.contains(first));
+        assertEquals(Set.of("id-allocator-test"), threads);
+    }
+
+    @Test
+    public void fetchFailure() {
+        final IdAllocator allocator = new IdAllocator("test", (seqName, size) -> {
+            throw new IllegalStateException("序列不存在: " + seqName);
+        }, 16, 256, 5);
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> allocator.nextId("seq_test"));
+        assertEquals("序列不存在: seq_test", exception.getMessage());
+    }
+
+    @Test
+    public void fetchWrongSize() {
+        final IdAllocator allocator = new IdAllocator("test", (seqName, size) -> new ArrayList<>(), 16, 256, 5);
+        // 返回空号段时报错，不能反复申请
+        assertThrows(IllegalStateException.class, () -> allocator.nextId("seq_test"));
+        assertThrows(IllegalStateException.class, () -> allocator.nextIds("seq_test", 1000));
+    }
+}
@@ -0,0 +1,65 @@
+package org.clever.app.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 作者：lizw <br/>
+ * 创建时间：2026/10/19 12:00 <br/>
+ */
+public class KeysetCursorTest {
+    @Test
+    public void roundTrip() {
+        final Timestamp timestamp = Timestamp.valueOf("2023-11-23 11:50:19.123456789");
+        final UUID uuid = UUID.randomUUID();
+        final Object[] values = new Object[]{
+            123L, 7, 1.5D, new BigDecimal("12345678901234567890.0001"), "中文 abc", true, timestamp, java.sql.Date.valueOf("2023-11-23"), uuid,
+        };
+        final String cursor = KeysetCursor.encode(42, values);
+        // base64url，可以直接作为url参数
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        final Object[] decoded = KeysetCursor.decode(cursor, 42, values.length);
+        assertArrayEquals(new Object[]{
+            123L, 7L, 1.5D, new BigDecimal("12345678901234567890.0001"), "中文 abc", true, timestamp, java.sql.Date.valueOf("2023-11-23"), uuid,
+        }, decoded);
+        // 纳秒精度不丢失
+        assertEquals(123456789, ((Timestamp) decoded[6]).getNanos());
+    }
+
+    @Test
+    public void javaTimeTypes() {
+        final LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        final Object[] decoded = KeysetCursor.decode(KeysetCursor.encode(1, new Object[]{dateTime, LocalDate.of(2024, 2, 29)}), 1, 2);
+        assertEquals(Timestamp.valueOf(dateTime), decoded[0]);
+        assertEquals(java.sql.Date.valueOf("2024-02-29"), decoded[1]);
+    }
+
+    @Test
+    public void signatureMismatch() {
+        final String cursor = KeysetCursor.encode(42, new Object[]{1L});
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(cursor, 43, 1));
+    }
+
+    @Test
+    public void invalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", 42, 2));
+        final String cursor = KeysetCursor.encode(42, new Object[]{1L, "abc"});
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor.substring(0, cursor.length() - 2), 42, 2));
+        // 值的数量与排序字段数量不一致
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(cursor, 42, 1));
+        // 值的数量为负数
+        final byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        bytes[5] = -1;
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> KeysetCursor.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), 42, 2));
+        assertEquals("分页游标与当前查询不匹配", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> KeysetCursor.encode(42, new Object[]{null}));
+    }
+}